@@ -3,6 +3,10 @@
 -- Run: psql -U postgres -d CARESYNC -f database/schema.sql
 
 -- Drop existing tables
+DROP TABLE IF EXISTS revoked_tokens CASCADE;
+DROP TABLE IF EXISTS daily_revenue_rollup CASCADE;
+DROP TABLE IF EXISTS payments CASCADE;
+DROP TABLE IF EXISTS access_codes CASCADE;
 DROP TABLE IF EXISTS bill_items CASCADE;
 DROP TABLE IF EXISTS bills CASCADE;
 DROP TABLE IF EXISTS prescription_items CASCADE;
@@ -46,6 +50,7 @@ CREATE TABLE users (
     role VARCHAR(20) NOT NULL DEFAULT 'PATIENT' CHECK (role IN ('ADMIN', 'DOCTOR', 'PATIENT', 'NURSE', 'RECEPTIONIST', 'TEST')),
     is_active BOOLEAN NOT NULL DEFAULT TRUE,
     last_login TIMESTAMP,
+    token_version INTEGER NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -266,6 +271,70 @@ CREATE TABLE bill_items (
 
 CREATE INDEX idx_bill_items_bill ON bill_items(bill_id);
 
+-- ============================================
+-- TABLE: payments
+-- Append-only ledger, one row per payment received against a bill
+-- CASCADE: Delete bill -> Delete payments
+-- ============================================
+CREATE TABLE payments (
+    id BIGSERIAL PRIMARY KEY,
+    bill_id BIGINT NOT NULL REFERENCES bills(id) ON DELETE CASCADE,
+    amount DECIMAL(10,2) NOT NULL CHECK (amount > 0),
+    payment_method VARCHAR(20) CHECK (payment_method IS NULL OR payment_method IN ('CASH', 'CARD', 'UPI', 'INSURANCE', 'ONLINE')),
+    paid_at TIMESTAMP NOT NULL,
+    notes VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_payments_bill ON payments(bill_id);
+CREATE INDEX idx_payments_paid_at ON payments(paid_at);
+CREATE INDEX idx_payments_method_paid_at ON payments(payment_method, paid_at);
+
+-- ============================================
+-- TABLE: access_codes
+-- Admin-issued codes that gate write operations
+-- Expired codes are deactivated and later purged by a background sweeper
+-- ============================================
+CREATE TABLE access_codes (
+    id BIGSERIAL PRIMARY KEY,
+    code VARCHAR(20) NOT NULL UNIQUE,
+    created_by VARCHAR(255) NOT NULL,
+    note VARCHAR(255),
+    usage_count INTEGER NOT NULL DEFAULT 0,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    last_used TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Partial index: only live codes are indexed, so lookups stay small as dead rows accumulate
+CREATE INDEX idx_access_codes_active ON access_codes(expires_at) WHERE is_active = TRUE;
+CREATE INDEX idx_access_codes_expires ON access_codes(expires_at);
+
+-- ============================================
+-- TABLE: revoked_tokens
+-- Token ids revoked by logout or refresh-token rotation
+-- Rows older than the refresh-token lifetime are purged
+-- ============================================
+CREATE TABLE revoked_tokens (
+    token_id VARCHAR(64) PRIMARY KEY,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+
+-- ============================================
+-- TABLE: daily_revenue_rollup
+-- Payments received per calendar day, maintained as payments are recorded
+-- Rebuilt from the payments ledger by the revenue backfill job
+-- ============================================
+CREATE TABLE daily_revenue_rollup (
+    revenue_date DATE PRIMARY KEY,
+    revenue DECIMAL(14,2) NOT NULL DEFAULT 0,
+    payment_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 -- ============================================
 -- FUNCTIONS & TRIGGERS
 -- ============================================
@@ -340,6 +340,23 @@ const DashboardPage = () => {
     }
   }, [user, fetchDashboardData]);
 
+  // Admin figures are kept current by the server push stream instead of re-fetching
+  useEffect(() => {
+    if (!user || !isAdmin) return undefined;
+    return adminService.streamAdminDashboard((figures) => {
+      setStats((prev) => {
+        const next = { ...prev };
+        ['totalPatients', 'totalAppointments', 'todayAppointments', 'pendingBills', 'totalRevenue', 'monthlyRevenue']
+          .forEach((key) => {
+            if (figures[key] !== undefined && figures[key] !== null) {
+              next[key] = figures[key];
+            }
+          });
+        return next;
+      });
+    });
+  }, [user, isAdmin]);
+
   // Error state
   if (error && !loading) {
     return (
@@ -1,4 +1,6 @@
 import api from './api';
+import authService from './authService';
+import { storage } from '../utils/helpers';
 
 // Helper to extract data from wrapped API response { success, message, data }
 const extractData = (response) => response.data?.data ?? response.data;
@@ -20,6 +22,82 @@ const adminService = {
     }
   },
 
+  /**
+   * Subscribe to live admin dashboard figures (server-sent events).
+   * onUpdate receives the full figures first, then only the fields that changed.
+   * Uses fetch rather than EventSource so the bearer token can be sent; returns an unsubscribe function.
+   * Reconnects after Retry-After on 503 (stream limit reached) and after a token refresh on 401;
+   * stops only on 403 or when the refresh fails.
+   */
+  streamAdminDashboard: (onUpdate) => {
+    const controller = new AbortController();
+
+    const parseEvent = (block) => {
+      const data = block
+        .split('\n')
+        .filter((line) => line.startsWith('data:'))
+        .map((line) => line.slice(5).trim())
+        .join('\n');
+      if (data) {
+        try {
+          onUpdate(JSON.parse(data));
+        } catch (e) {
+          console.warn('Ignoring malformed dashboard event', e);
+        }
+      }
+    };
+
+    const sleep = (ms) => new Promise((resolve) => setTimeout(resolve, ms));
+
+    const connect = async () => {
+      while (!controller.signal.aborted) {
+        let retryDelay = 3000;
+        try {
+          const response = await fetch(`${api.defaults.baseURL}/dashboard/stream`, {
+            headers: {
+              Accept: 'text/event-stream',
+              Authorization: `Bearer ${storage.get('token')}`,
+            },
+            signal: controller.signal,
+          });
+          if (response.status === 403) {
+            return;
+          }
+          if (response.status === 401) {
+            const refreshed = await authService.refreshToken();
+            if (!refreshed.success) return;
+            continue;
+          }
+          if (!response.ok || !response.body) {
+            // 503 carries Retry-After (seconds) when the server's stream limit is reached
+            const retryAfter = Number(response.headers.get('Retry-After'));
+            if (retryAfter > 0) retryDelay = retryAfter * 1000;
+            throw new Error(`Dashboard stream unavailable (${response.status})`);
+          }
+
+          const reader = response.body.getReader();
+          const decoder = new TextDecoder();
+          let buffer = '';
+          for (;;) {
+            const { done, value } = await reader.read();
+            if (done) break;
+            buffer += decoder.decode(value, { stream: true });
+            const blocks = buffer.split('\n\n');
+            buffer = blocks.pop();
+            blocks.forEach(parseEvent);
+          }
+        } catch (error) {
+          if (controller.signal.aborted) return;
+        }
+        // Server closed or refused the stream (timeout, restart, busy) - reconnect after a pause
+        await sleep(retryDelay);
+      }
+    };
+
+    connect();
+    return () => controller.abort();
+  },
+
   /**
    * Get doctor dashboard
    */
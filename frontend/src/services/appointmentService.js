@@ -172,6 +172,20 @@ const appointmentService = {
       return { success: false, error: message, data: [] };
     }
   },
+
+  /**
+   * Search open slots across a department or specialization, earliest first
+   * @param {{ departmentId?: number, specialization?: string, from: string, to: string }} params
+   */
+  searchAvailability: async (params) => {
+    try {
+      const response = await api.get('/appointments/availability', { params });
+      return { success: true, data: extractData(response) };
+    } catch (error) {
+      const message = error.response?.data?.message || 'Failed to search availability';
+      return { success: false, error: message, data: [] };
+    }
+  },
 };
 
 export default appointmentService;
@@ -2,6 +2,7 @@ import api from './api';
 import { storage } from '../utils/helpers';
 
 const AUTH_TOKEN_KEY = 'token';
+const REFRESH_TOKEN_KEY = 'refreshToken';
 const USER_KEY = 'user';
 
 /**
@@ -16,10 +17,11 @@ const authService = {
       const response = await api.post('/auth/login', { username, password });
       // Backend returns wrapped response: { success, message, data: { token, user } }
       const { data } = response.data;
-      const { token, user } = data;
+      const { token, refreshToken, user } = data;
       
-      // Store token and user data
+      // Store tokens and user data
       storage.set(AUTH_TOKEN_KEY, token);
+      storage.set(REFRESH_TOKEN_KEY, refreshToken);
       storage.set(USER_KEY, user);
       
       return { success: true, user, token };
@@ -33,7 +35,16 @@ const authService = {
    * Logout user
    */
   logout: () => {
+    // Revoke tokens server-side; local state is cleared regardless of the outcome
+    const token = storage.get(AUTH_TOKEN_KEY);
+    const refreshToken = storage.get(REFRESH_TOKEN_KEY);
+    if (token) {
+      api.post('/auth/logout', { refreshToken }, {
+        headers: { Authorization: `Bearer ${token}` },
+      }).catch(() => {});
+    }
     storage.remove(AUTH_TOKEN_KEY);
+    storage.remove(REFRESH_TOKEN_KEY);
     storage.remove(USER_KEY);
   },
 
@@ -97,9 +108,13 @@ const authService = {
    */
   refreshToken: async () => {
     try {
-      const response = await api.post('/auth/refresh');
-      const { token } = response.data;
+      const response = await api.post('/auth/refresh-token', {
+        refreshToken: storage.get(REFRESH_TOKEN_KEY),
+      });
+      // Refresh tokens are single-use: store the rotated pair
+      const { token, refreshToken } = response.data.data;
       storage.set(AUTH_TOKEN_KEY, token);
+      storage.set(REFRESH_TOKEN_KEY, refreshToken);
       return { success: true, token };
     } catch (error) {
       return { success: false, error: 'Failed to refresh token' };
@@ -0,0 +1,62 @@
+package com.caresync.benchmark;
+
+import com.caresync.entity.Role;
+import com.caresync.entity.User;
+import com.caresync.security.JwtTokenProvider;
+import com.caresync.security.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and validation cost on the login and request paths
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private UserPrincipal principal;
+    private String accessToken;
+
+    @Setup
+    public void setup() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret",
+                "CareSync2024SecretKeyForJWTTokenGenerationAndValidation256Bits");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 86400000L);
+        ReflectionTestUtils.setField(tokenProvider, "refreshExpiration", 604800000L);
+        ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+
+        User user = User.builder()
+                .id(1L)
+                .username("dr.smith")
+                .email("dr.smith@caresync.com")
+                .password("unused")
+                .role(Role.DOCTOR)
+                .isActive(true)
+                .build();
+        principal = UserPrincipal.from(user);
+        accessToken = tokenProvider.generateToken(principal);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(principal);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return tokenProvider.generateRefreshToken(principal);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(accessToken);
+    }
+}
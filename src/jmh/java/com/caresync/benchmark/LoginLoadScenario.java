@@ -0,0 +1,88 @@
+package com.caresync.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reproducible shift-start login storm against a running server.
+ * Each virtual user logs in back to back for the given duration; reports throughput,
+ * p50/p90/p99/max latency and the error/503 counts.
+ *
+ * Args: baseUrl username password concurrency durationSeconds
+ */
+public class LoginLoadScenario {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String username = args.length > 1 ? args[1] : "admin";
+        String password = args.length > 2 ? args[2] : "Admin@123";
+        int concurrency = args.length > 3 ? Integer.parseInt(args[3]) : 32;
+        int durationSeconds = args.length > 4 ? Integer.parseInt(args[4]) : 60;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .build();
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong errors = new AtomicLong();
+        AtomicLong busy = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        System.out.printf("Login load: %d virtual users for %ds against %s%n", concurrency, durationSeconds, baseUrl);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            long elapsed = System.nanoTime() - sent;
+                            if (response.statusCode() == 200) {
+                                latencies.add(elapsed);
+                            } else if (response.statusCode() == 503) {
+                                busy.incrementAndGet();
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("Successful logins: %d (%.1f/s), errors: %d, 503 busy: %d%n",
+                sorted.size(), sorted.size() / seconds, errors.get(), busy.get());
+        if (!sorted.isEmpty()) {
+            System.out.printf("Latency ms  p50=%.1f  p90=%.1f  p99=%.1f  max=%.1f%n",
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                    sorted.get(sorted.size() - 1) / 1e6);
+        }
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+}
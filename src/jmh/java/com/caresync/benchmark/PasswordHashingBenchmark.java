@@ -0,0 +1,56 @@
+package com.caresync.benchmark;
+
+import com.caresync.security.BoundedPasswordEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt encode/match cost per strength, direct and through the bounded hashing pool
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "Doctor@123";
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder bcrypt;
+    private BoundedPasswordEncoder bounded;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        bounded = new BoundedPasswordEncoder(bcrypt, Runtime.getRuntime().availableProcessors(), 64, 2);
+        hash = bcrypt.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bounded.shutdown();
+    }
+
+    @Benchmark
+    public String encode() {
+        return bcrypt.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return bcrypt.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean matchesBoundedUnderContention() {
+        return bounded.matches(PASSWORD, hash);
+    }
+}
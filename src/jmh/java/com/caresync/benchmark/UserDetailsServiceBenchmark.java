@@ -0,0 +1,76 @@
+package com.caresync.benchmark;
+
+import com.caresync.CareSyncApplication;
+import com.caresync.entity.Role;
+import com.caresync.entity.User;
+import com.caresync.repository.UserRepository;
+import com.caresync.security.CustomUserDetailsService;
+import com.caresync.security.PrincipalCache;
+import com.caresync.security.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User lookup on the login path against an in-memory H2 database,
+ * uncached and through the principal cache
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailsServiceBenchmark {
+
+    private static final String USERNAME = "bench.user";
+
+    private ConfigurableApplicationContext context;
+    private CustomUserDetailsService userDetailsService;
+    private PrincipalCache principalCache;
+
+    @Setup
+    public void setup() {
+        // Command-line args, so they override application.properties (builder properties would not)
+        context = new SpringApplicationBuilder(CareSyncApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+
+        context.getBean(UserRepository.class).save(User.builder()
+                .username(USERNAME)
+                .email("bench.user@caresync.com")
+                .password("{noop}unused")
+                .role(Role.DOCTOR)
+                .isActive(true)
+                .build());
+
+        userDetailsService = context.getBean(CustomUserDetailsService.class);
+        principalCache = context.getBean(PrincipalCache.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserPrincipal loadUserByUsername() {
+        return userDetailsService.loadUserByUsername(USERNAME);
+    }
+
+    @Benchmark
+    public UserPrincipal loadUserThroughPrincipalCache() {
+        return principalCache.get(USERNAME, userDetailsService::loadUserByUsername);
+    }
+}
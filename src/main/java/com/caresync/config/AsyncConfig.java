@@ -0,0 +1,22 @@
+package com.caresync.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors for request-scoped fan-out work
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Virtual thread per dashboard section; sections block on JDBC, not CPU
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService dashboardExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-", 0).factory());
+    }
+}
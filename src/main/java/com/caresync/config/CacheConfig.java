@@ -0,0 +1,46 @@
+package com.caresync.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Caffeine caches for rarely changing reference data. Each region has its own size/TTL
+ * spec (Caffeine spec syntax, e.g. "maximumSize=500,expireAfterWrite=10m") and records stats.
+ * Only the regions declared here exist; writes evict affected keys via ReferenceDataCache.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DEPARTMENTS = "departments";
+    public static final String DOCTOR_DIRECTORY = "doctorDirectory";
+    public static final String DOCTOR_SCHEDULES = "doctorSchedules";
+
+    @Value("${app.cache.departments.spec:maximumSize=200,expireAfterWrite=30m}")
+    private String departmentsSpec;
+
+    @Value("${app.cache.doctor-directory.spec:maximumSize=500,expireAfterWrite=10m}")
+    private String doctorDirectorySpec;
+
+    @Value("${app.cache.doctor-schedules.spec:maximumSize=2000,expireAfterWrite=30m}")
+    private String doctorSchedulesSpec;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // An empty name list turns off on-the-fly creation of undeclared caches
+        cacheManager.setCacheNames(List.of());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(DEPARTMENTS, Caffeine.from(departmentsSpec).recordStats().build());
+        cacheManager.registerCustomCache(DOCTOR_DIRECTORY, Caffeine.from(doctorDirectorySpec).recordStats().build());
+        cacheManager.registerCustomCache(DOCTOR_SCHEDULES, Caffeine.from(doctorSchedulesSpec).recordStats().build());
+        return cacheManager;
+    }
+}
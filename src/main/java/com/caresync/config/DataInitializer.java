@@ -10,6 +10,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Data Initializer for production environment
@@ -20,48 +27,82 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Slf4j
 public class DataInitializer {
 
+    private static final List<DemoUser> DEMO_USERS = List.of(
+            new DemoUser("admin", "admin@caresync.com", "Admin@123", Role.ADMIN),
+            new DemoUser("test", "test@caresync.com", "Test@123$", Role.TEST),
+            new DemoUser("dr.smith", "dr.smith@caresync.com", "Doctor@123", Role.DOCTOR),
+            new DemoUser("nurse.lisa", "nurse.lisa@caresync.com", "Nurse@123", Role.NURSE),
+            new DemoUser("reception.mary", "reception.mary@caresync.com", "Recept@123", Role.RECEPTIONIST),
+            new DemoUser("patient.robert", "patient.robert@caresync.com", "Patient@123", Role.PATIENT)
+    );
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
 
     @Bean
     @Profile("prod")
     public CommandLineRunner initData() {
         return args -> {
             log.info("Checking and initializing demo users...");
+            long start = System.currentTimeMillis();
+
+            // Phase 1: one query for all existing demo users
+            Map<String, User> existing = userRepository.findByUsernameIn(
+                            DEMO_USERS.stream().map(DemoUser::username).toList())
+                    .stream()
+                    .collect(Collectors.toMap(User::getUsername, Function.identity()));
+            long loaded = System.currentTimeMillis();
 
-            // Create or update demo users with correct passwords
-            createOrUpdateUser("admin", "admin@caresync.com", "Admin@123", Role.ADMIN);
-            createOrUpdateUser("test", "test@caresync.com", "Test@123$", Role.TEST);
-            createOrUpdateUser("dr.smith", "dr.smith@caresync.com", "Doctor@123", Role.DOCTOR);
-            createOrUpdateUser("nurse.lisa", "nurse.lisa@caresync.com", "Nurse@123", Role.NURSE);
-            createOrUpdateUser("reception.mary", "reception.mary@caresync.com", "Recept@123", Role.RECEPTIONIST);
-            createOrUpdateUser("patient.robert", "patient.robert@caresync.com", "Patient@123", Role.PATIENT);
+            // Phase 2: verify/hash in parallel; users whose stored hash already matches are skipped
+            List<User> changed = DEMO_USERS.parallelStream()
+                    .map(demo -> prepareUser(demo, existing.get(demo.username())))
+                    .filter(Objects::nonNull)
+                    .toList();
+            long hashed = System.currentTimeMillis();
 
-            log.info("Demo users initialization complete!");
+            // Phase 3: a single transaction for all writes
+            if (!changed.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(changed));
+            }
+            long saved = System.currentTimeMillis();
+
+            log.info("Demo users initialization complete: {} changed, {} unchanged "
+                            + "(load {} ms, hash {} ms, save {} ms, total {} ms)",
+                    changed.size(), DEMO_USERS.size() - changed.size(),
+                    loaded - start, hashed - loaded, saved - hashed, saved - start);
         };
     }
 
-    private void createOrUpdateUser(String username, String email, String password, Role role) {
-        userRepository.findByUsername(username).ifPresentOrElse(
-            user -> {
-                // Update password if user exists
-                user.setPassword(passwordEncoder.encode(password));
-                userRepository.save(user);
-                log.info("Updated password for user: {}", username);
-            },
-            () -> {
-                // Create new user if doesn't exist
-                User newUser = User.builder()
-                        .username(username)
-                        .email(email)
-                        .password(passwordEncoder.encode(password))
-                        .role(role)
-                        .isActive(true)
-                        .build();
-                userRepository.save(newUser);
-                log.info("Created demo user: {}", username);
-            }
-        );
+    /**
+     * Return the user to save, or null when it already exists with the right password
+     */
+    private User prepareUser(DemoUser demo, User user) {
+        if (user == null) {
+            log.info("Creating demo user: {}", demo.username());
+            return User.builder()
+                    .username(demo.username())
+                    .email(demo.email())
+                    .password(passwordEncoder.encode(demo.password()))
+                    .role(demo.role())
+                    .isActive(true)
+                    .build();
+        }
+
+        boolean matches = passwordEncoder.matches(demo.password(), user.getPassword());
+        if (matches && !passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return null;
+        }
+
+        // Password was changed or its hash is below the target cost
+        user.setPassword(passwordEncoder.encode(demo.password()));
+        if (!matches) {
+            user.incrementTokenVersion();
+        }
+        log.info("Updated password for user: {}", demo.username());
+        return user;
     }
-}
 
+    private record DemoUser(String username, String email, String password, Role role) {
+    }
+}
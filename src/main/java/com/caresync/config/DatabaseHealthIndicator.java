@@ -0,0 +1,61 @@
+package com.caresync.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trips "SELECT 1" and reports its latency together with the connection pool state.
+ * Exposed as the "databasePing" health component and used by /api/health.
+ */
+@Component("databasePing")
+@RequiredArgsConstructor
+public class DatabaseHealthIndicator implements HealthIndicator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Health health() {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            long elapsed = System.nanoTime() - start;
+            Timer.builder("caresync.db.ping")
+                    .description("Database ping round trip")
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+
+            Health.Builder health = Health.up().withDetail("latencyMs", elapsed / 1_000_000.0);
+            addPoolDetails(health);
+            return health.build();
+        } catch (RuntimeException ex) {
+            // Only the exception type: /api/health is public
+            Health.Builder health = Health.down()
+                    .withDetail("error", ex.getClass().getSimpleName())
+                    .withDetail("latencyMs", (System.nanoTime() - start) / 1_000_000.0);
+            addPoolDetails(health);
+            return health.build();
+        }
+    }
+
+    private void addPoolDetails(Health.Builder health) {
+        if (dataSource instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            health.withDetail("poolActive", pool.getActiveConnections())
+                    .withDetail("poolIdle", pool.getIdleConnections())
+                    .withDetail("poolTotal", pool.getTotalConnections())
+                    .withDetail("poolWaiting", pool.getThreadsAwaitingConnection());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.caresync.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates PostgreSQL-specific indexes that Hibernate's schema update cannot express
+ * (e.g. partial indexes). Mirrors database/schema.sql; every statement is idempotent.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseIndexInitializer {
+
+    private static final List<String> INDEXES = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_access_codes_active ON access_codes(expires_at) WHERE is_active = TRUE",
+            "CREATE INDEX IF NOT EXISTS idx_access_codes_expires ON access_codes(expires_at)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        for (String sql : INDEXES) {
+            try {
+                jdbcTemplate.execute(sql);
+            } catch (RuntimeException ex) {
+                log.warn("Could not create index ({}): {}", sql, ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.caresync.config;
+
+import com.caresync.security.BoundedPasswordEncoder;
+import com.caresync.security.LastLoginBuffer;
+import com.caresync.security.PrincipalCache;
+import com.caresync.security.TokenRevocationRegistry;
+import com.caresync.service.impl.DashboardBroadcaster;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes the internal counters of the login and dashboard hot paths as Micrometer meters.
+ * Hikari pool, Caffeine cache, HTTP and repository metrics are bound by Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Per-request SQL statement counting and JDBC timing, see {@link RequestSqlStats}
+     */
+    @Bean
+    public HibernatePropertiesCustomizer requestSqlStatsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new RequestSqlStats());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, RequestSqlStats.TimingListener.class.getName());
+        };
+    }
+
+    @Bean
+    public MeterBinder principalCacheMetrics(PrincipalCache principalCache) {
+        return registry -> {
+            Gauge.builder("caresync.principal.cache.size", principalCache, PrincipalCache::size)
+                    .description("Cached principals")
+                    .register(registry);
+            FunctionCounter.builder("caresync.principal.cache.requests", principalCache, PrincipalCache::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("caresync.principal.cache.requests", principalCache, PrincipalCache::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("caresync.principal.cache.evictions", principalCache, PrincipalCache::getEvictionCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(BoundedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            Gauge.builder("caresync.password.hashing.queue", passwordEncoder, BoundedPasswordEncoder::getQueueDepth)
+                    .description("Hashing tasks waiting for a worker")
+                    .register(registry);
+            Gauge.builder("caresync.password.hashing.active", passwordEncoder, BoundedPasswordEncoder::getActiveCount)
+                    .register(registry);
+            FunctionCounter.builder("caresync.password.hashing.rejected", passwordEncoder, BoundedPasswordEncoder::getRejectedCount)
+                    .description("Hashing tasks rejected with 503 because the queue was full")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder lastLoginMetrics(LastLoginBuffer lastLoginBuffer) {
+        return registry -> Gauge.builder("caresync.last.login.pending", lastLoginBuffer, LastLoginBuffer::getPendingCount)
+                .description("Last-login timestamps waiting to be flushed")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder tokenRevocationMetrics(TokenRevocationRegistry tokenRevocationRegistry) {
+        return registry -> {
+            Gauge.builder("caresync.token.revocation.insertions", tokenRevocationRegistry, TokenRevocationRegistry::getCurrentInsertions)
+                    .description("Token ids revoked in the current filter generation")
+                    .register(registry);
+            Gauge.builder("caresync.token.revocation.capacity", tokenRevocationRegistry, TokenRevocationRegistry::getCurrentCapacity)
+                    .description("Insertions the current filter generation is sized for")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder dashboardStreamMetrics(DashboardBroadcaster dashboardBroadcaster) {
+        return registry -> Gauge.builder("caresync.dashboard.stream.clients", dashboardBroadcaster, DashboardBroadcaster::getClientCount)
+                .description("Connected live dashboard clients")
+                .register(registry);
+    }
+}
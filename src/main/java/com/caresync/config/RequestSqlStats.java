@@ -0,0 +1,149 @@
+package com.caresync.config;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-request SQL statement count and JDBC execution time.
+ * Hibernate reports every prepared statement to the inspector and every execution to
+ * {@link TimingListener}; both write to the stats bound to the current thread by
+ * {@link SqlStatsFilter}. Work the request fans out to other threads is counted when
+ * wrapped with {@link #propagate(Supplier)}. Outside a request nothing is recorded.
+ */
+public class RequestSqlStats implements StatementInspector {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    // Distinct statements tracked per request when looking for the most repeated one
+    private static final int MAX_DISTINCT_STATEMENTS = 256;
+
+    public static Stats start() {
+        Stats stats = new Stats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static Stats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wrap a task submitted from a request thread so its statements count toward that request
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Stats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            Stats outer = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                return task.get();
+            } finally {
+                if (outer != null) {
+                    CURRENT.set(outer);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statement(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Written concurrently when a request fans out to other threads
+     */
+    public static final class Stats {
+
+        private final LongAdder statementCount = new LongAdder();
+        private final LongAdder executionNanos = new LongAdder();
+        private final Map<String, LongAdder> repeats = new ConcurrentHashMap<>();
+
+        private void statement(String sql) {
+            statementCount.increment();
+            LongAdder repeat = repeats.size() < MAX_DISTINCT_STATEMENTS
+                    ? repeats.computeIfAbsent(sql, key -> new LongAdder())
+                    : repeats.get(sql);
+            if (repeat != null) {
+                repeat.increment();
+            }
+        }
+
+        public int getStatementCount() {
+            return statementCount.intValue();
+        }
+
+        public long getExecutionNanos() {
+            return executionNanos.sum();
+        }
+
+        public long getExecutionMillis() {
+            return getExecutionNanos() / 1_000_000;
+        }
+
+        /**
+         * The statement issued most often in this request; an N+1 shows up as one select
+         * repeated once per parent row
+         */
+        public Map.Entry<String, Long> mostRepeated() {
+            return repeats.entrySet().stream()
+                    .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+        }
+    }
+
+    /**
+     * Registered through hibernate.session.events.auto, so Hibernate creates one per session
+     */
+    public static class TimingListener extends BaseSessionEventListener {
+
+        private long executionStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executionStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            record();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            executionStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            record();
+        }
+
+        private void record() {
+            Stats stats = CURRENT.get();
+            if (stats != null && executionStart != 0) {
+                stats.executionNanos.add(System.nanoTime() - executionStart);
+            }
+            executionStart = 0;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.caresync.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (buffered writes, housekeeping)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,31 +1,42 @@
 package com.caresync.config;
 
+import com.caresync.security.BoundedPasswordEncoder;
 import com.caresync.security.CustomUserDetailsService;
 import com.caresync.security.JwtAuthenticationEntryPoint;
 import com.caresync.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Security configuration with JWT authentication
@@ -43,10 +54,29 @@ public class SecurityConfig {
     @Value("${app.cors.allowed-origins:*}")
     private String allowedOrigins;
 
+    @Value("${app.sql-stats.headers-enabled:false}")
+    private boolean sqlStatsHeadersEnabled;
+
+    @Value("${app.metrics.scrape-token:}")
+    private String metricsScrapeToken;
+
+    @Value("${app.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${app.security.password.hashing-threads:0}")
+    private int hashingThreads;
+
+    @Value("${app.security.password.hashing-queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${app.security.password.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+
     // Public endpoints that don't require authentication
     private static final String[] PUBLIC_URLS = {
             "/api/auth/**",
             "/api/health/**",
+            "/actuator/health/**",
             "/api/access-codes/**",
             "/v3/api-docs/**",
             "/swagger-ui/**",
@@ -68,6 +98,10 @@ public class SecurityConfig {
             )
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(PUBLIC_URLS).permitAll()
+                .requestMatchers("/actuator/prometheus").access(this::adminOrScrapeToken)
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                // Async dispatches complete streams that were authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .anyRequest().authenticated()
             )
             .authenticationProvider(authenticationProvider())
@@ -76,11 +110,25 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Prometheus cannot log in, so it may scrape with the static app.metrics.scrape-token instead
+    private AuthorizationDecision adminOrScrapeToken(Supplier<Authentication> authentication,
+                                                     RequestAuthorizationContext context) {
+        String header = context.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+        boolean validToken = StringUtils.hasText(metricsScrapeToken) && header != null
+                && MessageDigest.isEqual(("Bearer " + metricsScrapeToken).getBytes(StandardCharsets.UTF_8),
+                                         header.getBytes(StandardCharsets.UTF_8));
+        boolean admin = authentication.get().getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        return new AuthorizationDecision(validToken || admin);
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehash on successful login when the stored hash is below the target cost
+        authProvider.setUserDetailsPasswordService(customUserDetailsService);
         return authProvider;
     }
 
@@ -102,7 +150,9 @@ public class SecurityConfig {
 
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(sqlStatsHeadersEnabled
+                ? List.of("Authorization", HttpHeaders.RETRY_AFTER, SqlStatsFilter.COUNT_HEADER, SqlStatsFilter.TIME_HEADER)
+                : List.of("Authorization", HttpHeaders.RETRY_AFTER));
         configuration.setAllowCredentials(!"*".equals(allowedOrigins));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -110,8 +160,18 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * BCrypt at the configured cost behind a DelegatingPasswordEncoder, so the cost can be
+     * raised without downtime: legacy unprefixed hashes still match and are upgraded on login.
+     * Hashing runs on a bounded pool rather than on request threads.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(bcryptStrength)));
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(bcryptStrength));
+
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, threads, hashingQueueCapacity, retryAfterSeconds);
     }
 }
@@ -0,0 +1,101 @@
+package com.caresync.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements and JDBC time of each API request.
+ * Results go to the "caresync.http.sql.statements" and "caresync.http.sql.time" meters, to a
+ * warning when a request exceeds the N+1 threshold and, when headers are enabled, to the
+ * X-SQL-Count and X-SQL-Time-Ms response headers (see {@link SqlStatsResponseAdvice}).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-SQL-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.sql-stats.enabled:true}")
+    private boolean enabled;
+
+    // Off by default: the headers tell any caller how much database work an endpoint does
+    @Value("${app.sql-stats.headers-enabled:false}")
+    private boolean headersEnabled;
+
+    @Value("${app.sql-stats.n-plus-one-threshold:20}")
+    private int nPlusOneThreshold;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestSqlStats.Stats stats = RequestSqlStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.clear();
+            // Bodiless responses never reach the response advice
+            if (headersEnabled && !response.isCommitted()) {
+                response.setHeader(COUNT_HEADER, String.valueOf(stats.getStatementCount()));
+                response.setHeader(TIME_HEADER, String.valueOf(stats.getExecutionMillis()));
+            }
+            record(request, response, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestSqlStats.Stats stats) {
+        // Route pattern rather than the raw URI, which would create a series per id
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("caresync.http.sql.statements")
+                .description("SQL statements issued per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        Timer.builder("caresync.http.sql.time")
+                .description("JDBC execution time per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getExecutionNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatementCount() > nPlusOneThreshold) {
+            Map.Entry<String, Long> repeated = stats.mostRepeated();
+            log.warn("Possible N+1: {} {} issued {} SQL statements in {} ms (status {}); most repeated ({}x): {}",
+                    method, request.getRequestURI(), stats.getStatementCount(), stats.getExecutionMillis(),
+                    response.getStatus(),
+                    repeated != null ? repeated.getValue() : 0L,
+                    repeated != null ? repeated.getKey() : "-");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.caresync.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the SQL statistics headers just before a response body is written, once the
+ * controller and its services have run but while headers can still be set.
+ * Only active when app.sql-stats.headers-enabled is set.
+ */
+@RestControllerAdvice
+public class SqlStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Value("${app.sql-stats.headers-enabled:false}")
+    private boolean headersEnabled;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return headersEnabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestSqlStats.Stats stats = RequestSqlStats.current();
+        if (stats != null) {
+            response.getHeaders().set(SqlStatsFilter.COUNT_HEADER, String.valueOf(stats.getStatementCount()));
+            response.getHeaders().set(SqlStatsFilter.TIME_HEADER, String.valueOf(stats.getExecutionMillis()));
+        }
+        return body;
+    }
+}
@@ -1,9 +1,11 @@
 package com.caresync.controller;
 
 import com.caresync.dto.ApiResponse;
+import com.caresync.dto.CacheStatsDTO;
 import com.caresync.dto.PagedResponse;
 import com.caresync.dto.UserDTO;
 import com.caresync.entity.Role;
+import com.caresync.service.CacheService;
 import com.caresync.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +28,7 @@ import java.util.Map;
 public class AdminController {
 
     private final UserService userService;
+    private final CacheService cacheService;
 
     @GetMapping("/users")
     public ResponseEntity<ApiResponse<PagedResponse<UserDTO>>> getAllUsers(
@@ -91,4 +94,27 @@ public class AdminController {
         long count = userService.countByRole(role);
         return ResponseEntity.ok(ApiResponse.success(count));
     }
+
+    // Cache regions: size and hit/miss/eviction statistics
+    @GetMapping("/caches")
+    public ResponseEntity<ApiResponse<List<CacheStatsDTO>>> getCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(cacheService.getCacheStats()));
+    }
+
+    @GetMapping("/caches/{name}")
+    public ResponseEntity<ApiResponse<CacheStatsDTO>> getCacheStats(@PathVariable String name) {
+        return ResponseEntity.ok(ApiResponse.success(cacheService.getCacheStats(name)));
+    }
+
+    @DeleteMapping("/caches/{name}")
+    public ResponseEntity<ApiResponse<Void>> clearCache(@PathVariable String name) {
+        cacheService.clearCache(name);
+        return ResponseEntity.ok(ApiResponse.success("Cache cleared successfully", null));
+    }
+
+    @DeleteMapping("/caches")
+    public ResponseEntity<ApiResponse<Void>> clearAllCaches() {
+        cacheService.clearAllCaches();
+        return ResponseEntity.ok(ApiResponse.success("All caches cleared successfully", null));
+    }
 }
@@ -2,6 +2,7 @@ package com.caresync.controller;
 
 import com.caresync.dto.ApiResponse;
 import com.caresync.dto.AppointmentDTO;
+import com.caresync.dto.DoctorAvailabilityDTO;
 import com.caresync.dto.PagedResponse;
 import com.caresync.entity.AppointmentStatus;
 import com.caresync.service.AppointmentService;
@@ -104,6 +105,18 @@ public class AppointmentController {
         return ResponseEntity.ok(ApiResponse.success(slots));
     }
 
+    // Open slots across a department or specialization, e.g. the next free cardiology slot this week
+    @GetMapping("/availability")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<DoctorAvailabilityDTO>>> searchAvailability(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) String specialization,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<DoctorAvailabilityDTO> availability = appointmentService.searchAvailability(departmentId, specialization, from, to);
+        return ResponseEntity.ok(ApiResponse.success(availability));
+    }
+
     // ADMIN, RECEPTIONIST, TEST can view any; DOCTOR/PATIENT can view own
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'RECEPTIONIST', 'TEST') or @securityService.isAppointmentOwner(#id)")
@@ -71,13 +71,12 @@ public class AuthController {
     }
 
     /**
-     * Logout (client-side token removal)
+     * Logout - revokes the presented access token and optional refresh token
      * POST /api/auth/logout
      */
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<Void>> logout() {
-        // JWT is stateless, so logout is handled client-side by removing the token
-        // This endpoint exists for consistency and potential future server-side token blacklisting
+    public ResponseEntity<ApiResponse<Void>> logout(@RequestBody(required = false) Map<String, String> request) {
+        authService.logout(request != null ? request.get("refreshToken") : null);
         return ResponseEntity.ok(ApiResponse.success("Logged out successfully", null));
     }
 }
@@ -4,19 +4,24 @@ import com.caresync.dto.ApiResponse;
 import com.caresync.dto.BillDTO;
 import com.caresync.dto.PagedResponse;
 import com.caresync.dto.PaymentDTO;
+import com.caresync.dto.RevenueGranularity;
+import com.caresync.dto.RevenuePointDTO;
 import com.caresync.entity.BillStatus;
+import com.caresync.exception.BadRequestException;
 import com.caresync.service.BillService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -74,6 +79,34 @@ public class BillController {
         return ResponseEntity.ok(ApiResponse.success(revenue));
     }
 
+    // Revenue trend by day, week or month; defaults to the last twelve months
+    @GetMapping("/revenue/series")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RECEPTIONIST', 'TEST')")
+    public ResponseEntity<ApiResponse<List<RevenuePointDTO>>> getRevenueSeries(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        RevenueGranularity bucket;
+        try {
+            bucket = RevenueGranularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Granularity must be one of: day, week, month");
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1).plusDays(1);
+
+        List<RevenuePointDTO> series = billService.getRevenueSeries(bucket, start, end);
+        return ResponseEntity.ok(ApiResponse.success(series));
+    }
+
+    // Only ADMIN can rebuild the daily revenue rollup from bills
+    @PostMapping("/revenue/rollup/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> rebuildRevenueRollup() {
+        int days = billService.rebuildRevenueRollup();
+        return ResponseEntity.ok(ApiResponse.success("Revenue rollup rebuilt", days));
+    }
+
     @GetMapping("/outstanding")
     @PreAuthorize("hasAnyRole('ADMIN', 'RECEPTIONIST', 'TEST')")
     public ResponseEntity<ApiResponse<BigDecimal>> getOutstandingAmount() {
@@ -103,6 +136,14 @@ public class BillController {
         return ResponseEntity.ok(ApiResponse.success(bill));
     }
 
+    // Payment ledger of a bill, oldest first
+    @GetMapping("/{id}/payments")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RECEPTIONIST', 'TEST') or @securityService.isBillOwner(#id)")
+    public ResponseEntity<ApiResponse<List<PaymentDTO>>> getBillPayments(@PathVariable Long id) {
+        List<PaymentDTO> payments = billService.getPaymentsByBill(id);
+        return ResponseEntity.ok(ApiResponse.success(payments));
+    }
+
     @GetMapping("/number/{billNumber}")
     @PreAuthorize("hasAnyRole('ADMIN', 'RECEPTIONIST', 'TEST')")
     public ResponseEntity<ApiResponse<BillDTO>> getBillByNumber(@PathVariable String billNumber) {
@@ -4,9 +4,11 @@ import com.caresync.dto.ApiResponse;
 import com.caresync.dto.DashboardDTO;
 import com.caresync.service.DashboardService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -24,6 +26,13 @@ public class DashboardController {
         return ResponseEntity.ok(ApiResponse.success(dashboard));
     }
 
+    // ADMIN and TEST can subscribe to live admin dashboard updates (server-sent events)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEST')")
+    public SseEmitter streamAdminDashboard() {
+        return dashboardService.streamAdminDashboard();
+    }
+
     // ADMIN, TEST can view any doctor's dashboard; DOCTOR can view own
     @GetMapping("/doctor/{doctorId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'TEST') or @securityService.isDoctorOwner(#doctorId)")
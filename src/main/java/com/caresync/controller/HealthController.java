@@ -1,6 +1,11 @@
 package com.caresync.controller;
 
+import com.caresync.config.DatabaseHealthIndicator;
 import com.caresync.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,16 +18,27 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
+@RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class HealthController {
 
+    private final DatabaseHealthIndicator databaseHealthIndicator;
+
+    // Public: reports DOWN with 503 when the database cannot be reached
     @GetMapping("/health")
     public ResponseEntity<ApiResponse<Map<String, Object>>> healthCheck() {
+        Health database = databaseHealthIndicator.health();
+        boolean up = Status.UP.equals(database.getStatus());
+
         Map<String, Object> health = new HashMap<>();
-        health.put("status", "UP");
+        health.put("status", up ? "UP" : "DOWN");
         health.put("timestamp", LocalDateTime.now());
         health.put("service", "CareSync Hospital Management System");
         health.put("version", "1.0.0");
-        return ResponseEntity.ok(ApiResponse.success(health));
+        // Status only; latency and pool details are on the ADMIN-only /actuator/health
+        health.put("database", database.getStatus().getCode());
+
+        return ResponseEntity.status(up ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.success(health));
     }
 }
@@ -41,4 +41,7 @@ public class DashboardDTO {
     private List<AppointmentDTO> recentAppointments;
     private List<AppointmentDTO> todaysAppointments;
     private List<BillDTO> pendingBillsList;
+
+    // Sections left out because they failed or timed out
+    private List<String> unavailableSections;
 }
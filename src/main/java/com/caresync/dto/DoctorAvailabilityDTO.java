@@ -0,0 +1,38 @@
+package com.caresync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO for a doctor's open slots over a date range, led by the earliest one
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorAvailabilityDTO {
+
+    private Long doctorId;
+    private String doctorName;
+    private String specialization;
+    private Long departmentId;
+    private String departmentName;
+    private LocalDate firstAvailableDate;
+    private LocalTime firstAvailableTime;
+    private List<DaySlots> days;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DaySlots {
+        private LocalDate date;
+        private List<LocalTime> slots;
+    }
+}
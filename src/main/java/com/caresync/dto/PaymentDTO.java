@@ -3,15 +3,17 @@ package com.caresync.dto;
 import com.caresync.entity.PaymentMethod;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
- * DTO for processing payments
+ * DTO for processing payments and listing a bill's payment ledger
  */
 @Data
 @Builder
@@ -19,6 +21,8 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class PaymentDTO {
     
+    private Long id;
+    
     @NotNull(message = "Bill ID is required")
     private Long billId;
     
@@ -29,5 +33,8 @@ public class PaymentDTO {
     @NotNull(message = "Payment method is required")
     private PaymentMethod paymentMethod;
     
+    @Size(max = 255, message = "Notes must be at most 255 characters")
     private String notes;
+    
+    private LocalDateTime paidAt;
 }
@@ -0,0 +1,41 @@
+package com.caresync.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket size for revenue time series; weeks start on Monday
+ */
+public enum RevenueGranularity {
+    DAY, WEEK, MONTH;
+
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Number of periods a series from {@code from} to {@code to} spans
+     */
+    public long periodsBetween(LocalDate from, LocalDate to) {
+        ChronoUnit unit = switch (this) {
+            case DAY -> ChronoUnit.DAYS;
+            case WEEK -> ChronoUnit.WEEKS;
+            case MONTH -> ChronoUnit.MONTHS;
+        };
+        return unit.between(periodStart(from), periodStart(to)) + 1;
+    }
+
+    public LocalDate nextPeriod(LocalDate periodStart) {
+        return switch (this) {
+            case DAY -> periodStart.plusDays(1);
+            case WEEK -> periodStart.plusWeeks(1);
+            case MONTH -> periodStart.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.caresync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One bucket of a revenue time series; periodStart is the first day of the day/week/month
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenuePointDTO {
+    private LocalDate periodStart;
+    private BigDecimal revenue;
+    private Long payments;
+}
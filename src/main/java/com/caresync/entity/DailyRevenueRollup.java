@@ -0,0 +1,37 @@
+package com.caresync.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Revenue received on one calendar day, kept in step with payments so trends
+ * never have to scan the bills table
+ */
+@Entity
+@Table(name = "daily_revenue_rollup")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRevenueRollup {
+
+    @Id
+    @Column(name = "revenue_date")
+    private LocalDate revenueDate;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "payment_count", nullable = false)
+    @Builder.Default
+    private Integer paymentCount = 0;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
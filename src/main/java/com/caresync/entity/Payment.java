@@ -0,0 +1,54 @@
+package com.caresync.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Payment ledger entry. Append-only: one row per payment received against a bill,
+ * so revenue is attributed to the day and method of each individual payment.
+ */
+@Entity
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_bill", columnList = "bill_id"),
+        @Index(name = "idx_payments_paid_at", columnList = "paid_at"),
+        @Index(name = "idx_payments_method_paid_at", columnList = "payment_method, paid_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Payment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bill_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Bill bill;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", length = 20)
+    private PaymentMethod paymentMethod;
+
+    @Column(name = "paid_at", nullable = false)
+    private LocalDateTime paidAt;
+
+    @Column(length = 255)
+    private String notes;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -43,6 +43,11 @@ public class User {
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
 
+    // Bumped on role, status or password change to invalidate previously issued tokens
+    @Column(name = "token_version")
+    @Builder.Default
+    private Integer tokenVersion = 0;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -51,6 +56,14 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    public int getTokenVersionOrDefault() {
+        return tokenVersion != null ? tokenVersion : 0;
+    }
+
+    public void incrementTokenVersion() {
+        this.tokenVersion = getTokenVersionOrDefault() + 1;
+    }
+
     // Bidirectional relationships
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private Patient patient;
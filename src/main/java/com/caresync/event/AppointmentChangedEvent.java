@@ -0,0 +1,24 @@
+package com.caresync.event;
+
+import com.caresync.entity.Appointment;
+import com.caresync.entity.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published when an appointment is created, updated, re-statused or deleted.
+ * {@code before} is null on create and {@code after} is null on delete.
+ */
+public record AppointmentChangedEvent(Long appointmentId, State before, State after) {
+
+    public record State(Long doctorId, Long patientId, LocalDate date, LocalTime time,
+                        LocalTime endTime, AppointmentStatus status) {
+
+        public static State of(Appointment appointment) {
+            return new State(appointment.getDoctor().getId(), appointment.getPatient().getId(),
+                    appointment.getAppointmentDate(), appointment.getAppointmentTime(),
+                    appointment.getEndTime(), appointment.getStatus());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.caresync.event;
+
+import com.caresync.entity.Bill;
+import com.caresync.entity.BillStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published when a bill is created, updated, paid, re-statused or deleted.
+ * {@code before} is null on create and {@code after} is null on delete.
+ */
+public record BillChangedEvent(Long billId, State before, State after) {
+
+    public record State(BillStatus status, BigDecimal finalAmount, BigDecimal paidAmount,
+                        LocalDateTime paymentDate) {
+
+        public static State of(Bill bill) {
+            return new State(bill.getStatus(), bill.getFinalAmount(), bill.getPaidAmount(), bill.getPaymentDate());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.caresync.event;
+
+/**
+ * Published when a doctor is deleted, directly or with their user account.
+ * Their appointments and prescriptions are removed with them without separate events.
+ */
+public record DoctorDeletedEvent(Long doctorId) {
+}
@@ -0,0 +1,14 @@
+package com.caresync.event;
+
+import com.caresync.entity.Gender;
+
+/**
+ * Published when a patient is created, updated or deleted; gender may be null on either side.
+ * Deleting a patient also removes their appointments and bills without separate events.
+ */
+public record PatientChangedEvent(Long patientId, Change change, Gender before, Gender after) {
+
+    public enum Change {
+        CREATED, UPDATED, DELETED
+    }
+}
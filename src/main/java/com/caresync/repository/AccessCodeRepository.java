@@ -2,8 +2,11 @@ package com.caresync.repository;
 
 import com.caresync.entity.AccessCode;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,5 +28,20 @@ public interface AccessCodeRepository extends JpaRepository<AccessCode, Long> {
     List<AccessCode> findValidCodes(LocalDateTime now);
 
     boolean existsByCode(String code);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE AccessCode a SET a.isActive = false WHERE a.id = :id")
+    int deactivateById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE AccessCode a SET a.isActive = false WHERE a.isActive = true AND a.expiresAt < :now")
+    int deactivateExpired(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AccessCode a WHERE a.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
 }
 
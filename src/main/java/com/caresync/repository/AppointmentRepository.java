@@ -2,6 +2,8 @@ package com.caresync.repository;
 
 import com.caresync.entity.Appointment;
 import com.caresync.entity.AppointmentStatus;
+import com.caresync.repository.projection.BookedSlotView;
+import com.caresync.repository.projection.OwnershipView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,7 +41,8 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Query("SELECT a FROM Appointment a WHERE a.appointmentDate = CURRENT_DATE ORDER BY a.appointmentTime")
     List<Appointment> findTodaysAppointments();
 
-    @Query("SELECT a FROM Appointment a WHERE a.doctor.id = :doctorId AND a.appointmentDate = CURRENT_DATE ORDER BY a.appointmentTime")
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.doctor " +
+           "WHERE a.doctor.id = :doctorId AND a.appointmentDate = CURRENT_DATE ORDER BY a.appointmentTime")
     List<Appointment> findTodaysAppointmentsByDoctor(@Param("doctorId") Long doctorId);
 
     @Query("SELECT a FROM Appointment a WHERE " +
@@ -51,9 +55,41 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             @Param("date") LocalDate date,
             @Param("time") LocalTime time);
 
+    // Booked start times only; no entity or association is loaded
+    @Query("SELECT a.doctor.id AS doctorId, a.appointmentDate AS appointmentDate, a.appointmentTime AS appointmentTime " +
+           "FROM Appointment a WHERE a.doctor.id = :doctorId AND " +
+           "a.appointmentDate BETWEEN :from AND :to AND " +
+           "a.status != 'CANCELLED'")
+    List<BookedSlotView> findBookedSlotsByDoctor(
+            @Param("doctorId") Long doctorId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    @Query("SELECT a.doctor.id AS doctorId, a.appointmentDate AS appointmentDate, a.appointmentTime AS appointmentTime " +
+           "FROM Appointment a WHERE a.doctor.id IN :doctorIds AND " +
+           "a.appointmentDate BETWEEN :from AND :to AND " +
+           "a.status != 'CANCELLED'")
+    List<BookedSlotView> findBookedSlotsByDoctors(
+            @Param("doctorIds") Collection<Long> doctorIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
     @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.patient LEFT JOIN FETCH a.doctor WHERE a.id = :id")
     Optional<Appointment> findByIdWithDetails(@Param("id") Long id);
 
+    // Most recent first; the page size bounds the result
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.doctor WHERE a.doctor.id = :doctorId " +
+           "ORDER BY a.appointmentDate DESC, a.appointmentTime DESC")
+    List<Appointment> findRecentByDoctorId(@Param("doctorId") Long doctorId, Pageable pageable);
+
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.doctor WHERE a.patient.id = :patientId " +
+           "ORDER BY a.appointmentDate DESC, a.appointmentTime DESC")
+    List<Appointment> findRecentByPatientId(@Param("patientId") Long patientId, Pageable pageable);
+
+    long countByDoctorId(Long doctorId);
+
+    long countByPatientId(Long patientId);
+
     @Query("SELECT COUNT(a) FROM Appointment a WHERE a.status = :status")
     long countByStatus(@Param("status") AppointmentStatus status);
 
@@ -74,4 +110,9 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             @Param("doctorId") Long doctorId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+
+    // Ownership check without loading Appointment/Patient/Doctor/User entities
+    @Query("SELECT p.user.id AS patientUserId, d.user.id AS doctorUserId " +
+           "FROM Appointment a JOIN a.patient p JOIN a.doctor d WHERE a.id = :id")
+    Optional<OwnershipView> findOwnershipById(@Param("id") Long id);
 }
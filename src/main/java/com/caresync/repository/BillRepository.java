@@ -2,6 +2,7 @@ package com.caresync.repository;
 
 import com.caresync.entity.Bill;
 import com.caresync.entity.BillStatus;
+import com.caresync.repository.projection.BillSummaryView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,7 +11,6 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +41,14 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
     @Query("SELECT b FROM Bill b WHERE b.status IN ('PENDING', 'PARTIAL') AND b.patient.id = :patientId")
     List<Bill> findPendingBillsByPatient(@Param("patientId") Long patientId);
 
+    @Query("SELECT b FROM Bill b JOIN FETCH b.patient WHERE b.status IN ('PENDING', 'PARTIAL') " +
+           "AND b.patient.id = :patientId ORDER BY b.dueDate")
+    List<Bill> findPendingBillsByPatient(@Param("patientId") Long patientId, Pageable pageable);
+
+    @Query("SELECT COUNT(b) AS pendingBills, COALESCE(SUM(b.finalAmount - b.paidAmount), 0) AS outstandingAmount " +
+           "FROM Bill b WHERE b.status IN ('PENDING', 'PARTIAL') AND b.patient.id = :patientId")
+    BillSummaryView summarizePendingBillsByPatient(@Param("patientId") Long patientId);
+
     @Query("SELECT COUNT(b) FROM Bill b WHERE b.status = :status")
     long countByStatus(@Param("status") BillStatus status);
 
@@ -53,14 +61,13 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
     @Query("SELECT SUM(b.finalAmount) - SUM(b.paidAmount) FROM Bill b")
     BigDecimal sumOutstandingAmount();
 
-    @Query("SELECT SUM(b.paidAmount) FROM Bill b WHERE b.paymentDate >= :startDate AND b.paymentDate < :endDate")
-    BigDecimal sumRevenueBetweenDates(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-
     @Query("SELECT b.status, COUNT(b) FROM Bill b GROUP BY b.status")
     List<Object[]> countByStatusGrouped();
 
-    @Query("SELECT b.paymentMethod, SUM(b.paidAmount) FROM Bill b WHERE b.paymentMethod IS NOT NULL GROUP BY b.paymentMethod")
-    List<Object[]> sumByPaymentMethod();
-
     boolean existsByBillNumber(String billNumber);
+
+
+    // Ownership check without loading Bill/Patient/User entities
+    @Query("SELECT p.user.id FROM Bill b JOIN b.patient p WHERE b.id = :id")
+    Optional<Long> findPatientUserIdById(@Param("id") Long id);
 }
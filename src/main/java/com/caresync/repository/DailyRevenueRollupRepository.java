@@ -0,0 +1,47 @@
+package com.caresync.repository;
+
+import com.caresync.entity.DailyRevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyRevenueRollupRepository extends JpaRepository<DailyRevenueRollup, LocalDate> {
+
+    // Atomic add, so concurrent payments on the same day never lose an update
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollup (revenue_date, revenue, payment_count, updated_at) " +
+                   "VALUES (:date, :amount, :payments, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (revenue_date) DO UPDATE SET " +
+                   "revenue = daily_revenue_rollup.revenue + EXCLUDED.revenue, " +
+                   "payment_count = daily_revenue_rollup.payment_count + EXCLUDED.payment_count, " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    void addRevenue(@Param("date") LocalDate date,
+                    @Param("amount") BigDecimal amount,
+                    @Param("payments") int payments);
+
+    @Query("SELECT r FROM DailyRevenueRollup r WHERE r.revenueDate BETWEEN :from AND :to ORDER BY r.revenueDate")
+    List<DailyRevenueRollup> findBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(r.revenue), 0) FROM DailyRevenueRollup r WHERE r.revenueDate BETWEEN :from AND :to")
+    BigDecimal sumRevenueBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_revenue_rollup", nativeQuery = true)
+    void deleteAllRows();
+
+    // Backfill from the payment ledger
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollup (revenue_date, revenue, payment_count, updated_at) " +
+                   "SELECT CAST(paid_at AS DATE), SUM(amount), COUNT(*), CURRENT_TIMESTAMP " +
+                   "FROM payments GROUP BY CAST(paid_at AS DATE)",
+           nativeQuery = true)
+    int insertFromPayments();
+}
@@ -0,0 +1,63 @@
+package com.caresync.repository;
+
+import com.caresync.entity.Appointment;
+import com.caresync.repository.projection.DashboardTotalsView;
+import com.caresync.repository.projection.DistributionBucketView;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only aggregate queries for the admin dashboard.
+ * Each method is one round trip regardless of how many figures it returns.
+ */
+@Repository
+public interface DashboardRepository extends org.springframework.data.repository.Repository<Appointment, Long> {
+
+    String DIMENSION_APPOINTMENT = "appointment";
+    String DIMENSION_BILL = "bill";
+    String DIMENSION_GENDER = "gender";
+    String DIMENSION_SPECIALIZATION = "specialization";
+
+    @Query(value = """
+            SELECT (SELECT COUNT(*) FROM patients) AS "totalPatients",
+                   (SELECT COUNT(*) FROM doctors) AS "totalDoctors",
+                   (SELECT COUNT(*) FROM departments WHERE is_active = TRUE) AS "activeDepartments",
+                   a.total AS "totalAppointments",
+                   a.today AS "todayAppointments",
+                   b.total_revenue AS "totalRevenue",
+                   p.today_revenue AS "todayRevenue",
+                   p.monthly_revenue AS "monthlyRevenue",
+                   b.outstanding AS "outstandingAmount"
+            FROM (SELECT COUNT(*) AS total,
+                         COUNT(*) FILTER (WHERE appointment_date = CURRENT_DATE) AS today
+                  FROM appointments) a
+            CROSS JOIN
+                 (SELECT COALESCE(SUM(paid_amount), 0) AS total_revenue,
+                         COALESCE(SUM(final_amount) - SUM(paid_amount), 0) AS outstanding
+                  FROM bills) b
+            CROSS JOIN
+                 (SELECT COALESCE(SUM(amount) FILTER (WHERE paid_at >= :dayStart AND paid_at < :dayEnd), 0) AS today_revenue,
+                         COALESCE(SUM(amount), 0) AS monthly_revenue
+                  FROM payments
+                  WHERE paid_at >= :monthStart AND paid_at < :monthEnd) p
+            """, nativeQuery = true)
+    DashboardTotalsView getTotals(@Param("dayStart") LocalDateTime dayStart,
+                                  @Param("dayEnd") LocalDateTime dayEnd,
+                                  @Param("monthStart") LocalDateTime monthStart,
+                                  @Param("monthEnd") LocalDateTime monthEnd);
+
+    @Query(value = """
+            SELECT 'appointment' AS "dimension", status AS "bucket", COUNT(*) AS "total" FROM appointments GROUP BY status
+            UNION ALL
+            SELECT 'bill', status, COUNT(*) FROM bills GROUP BY status
+            UNION ALL
+            SELECT 'gender', gender, COUNT(*) FROM patients GROUP BY gender
+            UNION ALL
+            SELECT 'specialization', specialization, COUNT(*) FROM doctors GROUP BY specialization
+            """, nativeQuery = true)
+    List<DistributionBucketView> getDistributions();
+}
@@ -1,8 +1,10 @@
 package com.caresync.repository;
 
 import com.caresync.entity.Department;
+import com.caresync.repository.projection.DepartmentDoctorCountView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,6 +22,25 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     @Query("SELECT d FROM Department d LEFT JOIN FETCH d.doctors WHERE d.id = :id")
     Optional<Department> findByIdWithDoctors(Long id);
 
+    // Doctor counts come from a correlated COUNT (idx_doctors_department) instead of loading d.doctors
+    @Query("SELECT d AS department, " +
+           "(SELECT COUNT(doc) FROM Doctor doc WHERE doc.department = d) AS doctorCount " +
+           "FROM Department d ORDER BY d.name")
+    List<DepartmentDoctorCountView> findAllWithDoctorCount();
+
+    @Query("SELECT d AS department, " +
+           "(SELECT COUNT(doc) FROM Doctor doc WHERE doc.department = d) AS doctorCount " +
+           "FROM Department d WHERE d.isActive = true ORDER BY d.name")
+    List<DepartmentDoctorCountView> findActiveWithDoctorCount();
+
+    @Query("SELECT d AS department, " +
+           "(SELECT COUNT(doc) FROM Doctor doc WHERE doc.department = d) AS doctorCount " +
+           "FROM Department d WHERE d.id = :id")
+    Optional<DepartmentDoctorCountView> findByIdWithDoctorCount(@Param("id") Long id);
+
+    @Query("SELECT COUNT(doc) FROM Doctor doc WHERE doc.department.id = :id")
+    long countDoctors(@Param("id") Long id);
+
     @Query("SELECT COUNT(d) FROM Department d WHERE d.isActive = true")
     long countActiveDepartments();
 }
@@ -50,6 +50,14 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     @Query("SELECT d.specialization, COUNT(d) FROM Doctor d GROUP BY d.specialization")
     List<Object[]> countBySpecialization();
 
+    // Bookable doctors with their department, for availability search
+    @Query("SELECT d FROM Doctor d LEFT JOIN FETCH d.department WHERE d.department.id = :deptId AND d.isAvailable = true")
+    List<Doctor> findBookableByDepartment(@Param("deptId") Long departmentId);
+
+    @Query("SELECT d FROM Doctor d LEFT JOIN FETCH d.department " +
+           "WHERE LOWER(d.specialization) = LOWER(:specialization) AND d.isAvailable = true")
+    List<Doctor> findBookableBySpecialization(@Param("specialization") String specialization);
+
     @Query("SELECT d FROM Doctor d WHERE d.department.id = :deptId AND d.isAvailable = true")
     List<Doctor> findAvailableDoctorsByDepartment(@Param("deptId") Long departmentId);
 }
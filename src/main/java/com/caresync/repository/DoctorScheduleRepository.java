@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,5 +23,8 @@ public interface DoctorScheduleRepository extends JpaRepository<DoctorSchedule,
     @Query("SELECT ds FROM DoctorSchedule ds WHERE ds.doctor.id = :doctorId AND ds.isAvailable = true ORDER BY ds.dayOfWeek")
     List<DoctorSchedule> findAvailableSchedulesByDoctor(@Param("doctorId") Long doctorId);
 
+    @Query("SELECT ds FROM DoctorSchedule ds WHERE ds.doctor.id IN :doctorIds AND ds.isAvailable = true")
+    List<DoctorSchedule> findAvailableSchedulesByDoctors(@Param("doctorIds") Collection<Long> doctorIds);
+
     void deleteByDoctorId(Long doctorId);
 }
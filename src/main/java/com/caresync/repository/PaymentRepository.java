@@ -0,0 +1,34 @@
+package com.caresync.repository;
+
+import com.caresync.entity.Payment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    List<Payment> findByBillIdOrderByPaidAtAsc(Long billId);
+
+    // Range scan on idx_payments_paid_at
+    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.paidAt >= :startDate AND p.paidAt < :endDate")
+    BigDecimal sumAmountBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT p.paymentMethod, SUM(p.amount) FROM Payment p WHERE p.paymentMethod IS NOT NULL GROUP BY p.paymentMethod")
+    List<Object[]> sumByPaymentMethod();
+
+    // One ledger row for each bill paid before the ledger existed, dated by its last payment
+    @Modifying
+    @Query(value = "INSERT INTO payments (bill_id, amount, payment_method, paid_at, notes, created_at) " +
+                   "SELECT b.id, b.paid_amount, b.payment_method, b.payment_date, 'Recorded before payment ledger', CURRENT_TIMESTAMP " +
+                   "FROM bills b WHERE b.paid_amount > 0 AND b.payment_date IS NOT NULL " +
+                   "AND NOT EXISTS (SELECT 1 FROM payments p WHERE p.bill_id = b.id)",
+           nativeQuery = true)
+    int insertLegacyPayments();
+}
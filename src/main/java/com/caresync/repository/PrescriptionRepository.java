@@ -1,6 +1,7 @@
 package com.caresync.repository;
 
 import com.caresync.entity.Prescription;
+import com.caresync.repository.projection.OwnershipView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -42,4 +43,9 @@ public interface PrescriptionRepository extends JpaRepository<Prescription, Long
 
     @Query("SELECT p FROM Prescription p WHERE p.followUpDate = :date")
     List<Prescription> findByFollowUpDate(@Param("date") LocalDate date);
+
+    // Ownership check without loading Prescription/Patient/Doctor/User entities
+    @Query("SELECT p.user.id AS patientUserId, d.user.id AS doctorUserId " +
+           "FROM Prescription pr JOIN pr.patient p JOIN pr.doctor d WHERE pr.id = :id")
+    Optional<OwnershipView> findOwnershipById(@Param("id") Long id);
 }
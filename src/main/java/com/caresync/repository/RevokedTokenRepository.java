@@ -0,0 +1,32 @@
+package com.caresync.repository;
+
+import com.caresync.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // 0 when the token id was already revoked, so single-use checks hold across restarts
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_tokens (token_id, revoked_at) VALUES (:tokenId, :revokedAt) " +
+                   "ON CONFLICT (token_id) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("tokenId") String tokenId, @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.revokedAt >= :since")
+    List<String> findTokenIdsRevokedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.revokedAt < :cutoff")
+    int deleteRevokedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,13 @@
+package com.caresync.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Count and outstanding balance of a patient's unpaid bills
+ */
+public interface BillSummaryView {
+
+    Long getPendingBills();
+
+    BigDecimal getOutstandingAmount();
+}
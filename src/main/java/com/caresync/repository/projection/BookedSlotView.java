@@ -0,0 +1,16 @@
+package com.caresync.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Start of a non-cancelled appointment, used to mark booked slots
+ */
+public interface BookedSlotView {
+
+    Long getDoctorId();
+
+    LocalDate getAppointmentDate();
+
+    LocalTime getAppointmentTime();
+}
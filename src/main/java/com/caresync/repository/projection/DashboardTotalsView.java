@@ -0,0 +1,27 @@
+package com.caresync.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Scalar admin dashboard figures computed in a single aggregate query
+ */
+public interface DashboardTotalsView {
+
+    Long getTotalPatients();
+
+    Long getTotalDoctors();
+
+    Long getActiveDepartments();
+
+    Long getTotalAppointments();
+
+    Long getTodayAppointments();
+
+    BigDecimal getTotalRevenue();
+
+    BigDecimal getTodayRevenue();
+
+    BigDecimal getMonthlyRevenue();
+
+    BigDecimal getOutstandingAmount();
+}
@@ -0,0 +1,13 @@
+package com.caresync.repository.projection;
+
+import com.caresync.entity.Department;
+
+/**
+ * A department with its number of doctors, counted in the same query
+ */
+public interface DepartmentDoctorCountView {
+
+    Department getDepartment();
+
+    Long getDoctorCount();
+}
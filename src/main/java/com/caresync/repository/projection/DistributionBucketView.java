@@ -0,0 +1,13 @@
+package com.caresync.repository.projection;
+
+/**
+ * One bucket of a dashboard distribution, e.g. dimension "appointment", bucket "SCHEDULED"
+ */
+public interface DistributionBucketView {
+
+    String getDimension();
+
+    String getBucket();
+
+    Long getTotal();
+}
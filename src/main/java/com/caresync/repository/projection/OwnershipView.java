@@ -0,0 +1,11 @@
+package com.caresync.repository.projection;
+
+/**
+ * Owning user ids of a record, resolved in one query for authorization checks
+ */
+public interface OwnershipView {
+
+    Long getPatientUserId();
+
+    Long getDoctorUserId();
+}
@@ -5,9 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -24,6 +22,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -32,27 +32,48 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
+            // Single parse: signature and expiry are verified once per request
+            TokenClaims claims = StringUtils.hasText(jwt)
+                    ? jwtTokenProvider.parseToken(jwt).orElse(null)
+                    : null;
 
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-                
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            // Refresh tokens and revoked (logged out) tokens never authenticate a request
+            if (claims != null && (!claims.isAccessToken() || tokenRevocationRegistry.isRevoked(claims.getTokenId()))) {
+                claims = null;
+            }
+
+            if (claims != null) {
+                String username = claims.getSubject();
+
+                // Resolve principal from cache; falls back to the users table on miss or expiry
+                UserPrincipal principal = principalCache.get(username, customUserDetailsService::loadUserByUsername);
+
+                // Tokens issued before a role/status/password change (or without claims) are rejected
+                if (isCurrentVersion(claims, principal)) {
+                    JwtAuthenticationToken authentication = new JwtAuthenticationToken(principal, claims);
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             // Log error but don't throw - let the request continue without authentication
             logger.error("Could not set user authentication in security context", ex);
         }
 
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (logger.isDebugEnabled()) {
+                logger.debug(request.getMethod() + " " + request.getRequestURI() + " ran "
+                        + RequestSecurityMemo.getQueryCount(request) + " security queries");
+            }
+        }
+    }
+
+    private boolean isCurrentVersion(TokenClaims claims, UserPrincipal principal) {
+        return claims.getVersion() != null
+                && claims.getVersion() == principal.getTokenVersion()
+                && principal.getId().equals(claims.getUserId());
     }
 
     /**
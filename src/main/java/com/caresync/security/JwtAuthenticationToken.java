@@ -0,0 +1,21 @@
+package com.caresync.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+/**
+ * Authentication built from a verified access token.
+ * Carries the token claims so authorization checks can be answered without DB lookups.
+ */
+public class JwtAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final transient TokenClaims claims;
+
+    public JwtAuthenticationToken(UserPrincipal principal, TokenClaims claims) {
+        super(principal, null, principal.getAuthorities());
+        this.claims = claims;
+    }
+
+    public TokenClaims getClaims() {
+        return claims;
+    }
+}
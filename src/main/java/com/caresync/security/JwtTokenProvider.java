@@ -2,14 +2,16 @@ package com.caresync.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * JWT Token Provider - Generates and validates JWT tokens
@@ -26,82 +28,115 @@ public class JwtTokenProvider {
     @Value("${app.jwt.refresh-expiration:604800000}")
     private long refreshExpiration; // 7 days in milliseconds
 
-    private SecretKey getSigningKey() {
+    private static final String TYPE_CLAIM = "typ";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String PATIENT_ID_CLAIM = "pid";
+    private static final String DOCTOR_ID_CLAIM = "did";
+    private static final String VERSION_CLAIM = "ver";
+
+    // Derived once at startup; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     /**
      * Generate JWT token from Authentication
      */
     public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateToken(userDetails.getUsername());
+        return generateToken((UserPrincipal) authentication.getPrincipal());
     }
 
     /**
-     * Generate JWT token from username
+     * Generate a self-contained access token: user id, role, linked patient/doctor id
+     * and token version are embedded so authorization checks need no DB lookups
      */
-    public String generateToken(String username) {
+    public String generateToken(UserPrincipal principal) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        return Jwts.builder()
-                .subject(username)
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(principal.getUsername())
+                .claim(TYPE_CLAIM, TokenClaims.ACCESS)
+                .claim(USER_ID_CLAIM, principal.getId())
+                .claim(ROLE_CLAIM, principal.getRole().name())
+                .claim(VERSION_CLAIM, principal.getTokenVersion())
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+                .expiration(expiryDate);
+        if (principal.getPatientId() != null) {
+            builder.claim(PATIENT_ID_CLAIM, principal.getPatientId());
+        }
+        if (principal.getDoctorId() != null) {
+            builder.claim(DOCTOR_ID_CLAIM, principal.getDoctorId());
+        }
+        return builder.signWith(signingKey).compact();
     }
 
     /**
-     * Generate refresh token
+     * Generate refresh token; its jti lets it be rotated and revoked individually
      */
-    public String generateRefreshToken(String username) {
+    public String generateRefreshToken(UserPrincipal principal) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + refreshExpiration);
 
         return Jwts.builder()
-                .subject(username)
+                .id(UUID.randomUUID().toString())
+                .subject(principal.getUsername())
+                .claim(TYPE_CLAIM, TokenClaims.REFRESH)
+                .claim(USER_ID_CLAIM, principal.getId())
+                .claim(VERSION_CLAIM, principal.getTokenVersion())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verify the signature and expiry once and return the claims.
+     * Empty if the token is malformed, expired, unsupported or badly signed.
+     */
+    public Optional<TokenClaims> parseToken(String token) {
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            return Optional.of(TokenClaims.builder()
+                    .tokenId(claims.getId())
+                    .type(claims.get(TYPE_CLAIM, String.class))
+                    .subject(claims.getSubject())
+                    .userId(claims.get(USER_ID_CLAIM, Long.class))
+                    .role(claims.get(ROLE_CLAIM, String.class))
+                    .patientId(claims.get(PATIENT_ID_CLAIM, Long.class))
+                    .doctorId(claims.get(DOCTOR_ID_CLAIM, Long.class))
+                    .version(claims.get(VERSION_CLAIM, Integer.class))
+                    .issuedAt(claims.getIssuedAt())
+                    .expiration(claims.getExpiration())
+                    .build());
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Invalid, expired, unsupported or tampered JWT token
+            return Optional.empty();
+        }
+    }
+
     /**
      * Get username from JWT token
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+        return jwtParser.parseSignedClaims(token).getPayload().getSubject();
     }
 
     /**
      * Validate JWT token
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (MalformedJwtException ex) {
-            // Invalid JWT token
-        } catch (ExpiredJwtException ex) {
-            // Expired JWT token
-        } catch (UnsupportedJwtException ex) {
-            // Unsupported JWT token
-        } catch (IllegalArgumentException ex) {
-            // JWT claims string is empty
-        }
-        return false;
+        return parseToken(token).isPresent();
     }
 
     /**
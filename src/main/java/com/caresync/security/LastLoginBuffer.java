@@ -0,0 +1,74 @@
+package com.caresync.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalescing buffer for users.last_login.
+ * Logins only record a timestamp in memory; a scheduled job writes the latest
+ * value per user in one batched UPDATE, so a login burst costs one round trip
+ * instead of a row lock and commit per login.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LastLoginBuffer {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Record a login; repeated logins before the next flush collapse into one write
+     */
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        List<Object[]> batch = new ArrayList<>();
+        for (Long userId : List.copyOf(pending.keySet())) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                Timestamp ts = Timestamp.valueOf(loginTime);
+                batch.add(new Object[]{ts, userId, ts});
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+            log.debug("Flushed last-login for {} user(s)", batch.size());
+        } catch (RuntimeException ex) {
+            // Put the entries back unless a newer login has been recorded meanwhile
+            for (Object[] row : batch) {
+                record((Long) row[1], ((Timestamp) row[0]).toLocalDateTime());
+            }
+            log.warn("Could not flush last-login updates, will retry: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+}
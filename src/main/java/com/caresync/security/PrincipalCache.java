@@ -0,0 +1,117 @@
+package com.caresync.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of resolved principals keyed by JWT subject.
+ * Keeps the users table off the hot path of every authenticated request.
+ * Entries are evicted explicitly when a user is updated, re-roled or deleted.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Value("${app.security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    /**
+     * Get the principal for a subject, loading it on a miss or after expiry
+     */
+    public UserPrincipal get(String subject, Function<String, UserPrincipal> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(subject);
+        if (entry != null && entry.expiresAt > now) {
+            hits.incrementAndGet();
+            return entry.principal;
+        }
+
+        misses.incrementAndGet();
+        UserPrincipal principal = loader.apply(subject);
+        if (entries.size() >= maxSize) {
+            makeRoom(now);
+        }
+        entries.put(subject, new Entry(principal, now + ttlSeconds * 1000));
+        return principal;
+    }
+
+    /**
+     * Evict every cached subject (username or email) resolving to the given user.
+     * When called inside a transaction the eviction is repeated after commit, so a
+     * concurrent request cannot re-cache the pre-commit row.
+     */
+    public void evict(Long userId) {
+        if (userId == null) return;
+        evictNow(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Long userId) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> userId.equals(entry.principal.getId()));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            evictions.addAndGet(removed);
+            log.debug("Evicted {} cached principal(s) for user id {}", removed, userId);
+        }
+    }
+
+    public void clear() {
+        evictions.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Drop expired entries first; if still full, drop arbitrary entries until under the bound
+    private void makeRoom(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private record Entry(UserPrincipal principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.caresync.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-request memo for authorization lookups (current user, doctor/patient id,
+ * record ownership) shared by every SecurityService check.
+ * Values live in request attributes, so repeated SpEL checks within one request
+ * resolve once and nothing outlives the request. Outside a request it is a pass-through.
+ */
+@Component
+public class RequestSecurityMemo {
+
+    private static final String ATTRIBUTE = RequestSecurityMemo.class.getName();
+
+    /**
+     * Return the memoized value for the key, computing it on first access in this request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        Memo memo = currentMemo();
+        if (memo == null) {
+            return loader.get();
+        }
+        if (memo.values.containsKey(key)) {
+            return (T) memo.values.get(key);
+        }
+        T value = loader.get();
+        memo.values.put(key, value);
+        memo.queries++;
+        return value;
+    }
+
+    /**
+     * Number of security lookups that went to the database during the request
+     */
+    public static int getQueryCount(HttpServletRequest request) {
+        return request.getAttribute(ATTRIBUTE) instanceof Memo memo ? memo.queries : 0;
+    }
+
+    private Memo currentMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Memo memo = (Memo) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new Memo();
+            attributes.setAttribute(ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    private static final class Memo {
+        private final Map<String, Object> values = new HashMap<>();
+        private int queries;
+    }
+}
@@ -2,17 +2,18 @@ package com.caresync.security;
 
 import com.caresync.entity.*;
 import com.caresync.repository.*;
+import com.caresync.repository.projection.OwnershipView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 
 /**
  * Security Service for custom authorization checks
- * Used in @PreAuthorize SpEL expressions
+ * Used in @PreAuthorize SpEL expressions.
+ * Identity, role and patient/doctor linkage are read from the verified token claims.
  */
 @Service("securityService")
 @RequiredArgsConstructor
@@ -24,134 +25,135 @@ public class SecurityService {
     private final AppointmentRepository appointmentRepository;
     private final PrescriptionRepository prescriptionRepository;
     private final BillRepository billRepository;
+    private final RequestSecurityMemo requestMemo;
 
     /**
-     * Get current authenticated user
+     * Get current authenticated user (loads the entity; prefer the claim-based checks below)
      */
     public User getCurrentUser() {
+        Long userId = getCurrentUserId();
+        if (userId == null) return null;
+        return requestMemo.get("user:" + userId, () -> userRepository.findById(userId).orElse(null));
+    }
+
+    /**
+     * Get the verified claims of the current request's access token
+     */
+    public TokenClaims getCurrentClaims() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return null;
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication && authentication.isAuthenticated()) {
+            return jwtAuthentication.getClaims();
         }
+        return null;
+    }
 
-        String username;
-        if (authentication.getPrincipal() instanceof UserDetails) {
-            username = ((UserDetails) authentication.getPrincipal()).getUsername();
-        } else {
-            username = authentication.getPrincipal().toString();
-        }
+    /**
+     * Get current user ID from the token
+     */
+    public Long getCurrentUserId() {
+        TokenClaims claims = getCurrentClaims();
+        return claims != null ? claims.getUserId() : null;
+    }
 
-        // Try to find by username first, then by email
-        return userRepository.findByUsername(username)
-                .orElseGet(() -> userRepository.findByEmail(username).orElse(null));
+    /**
+     * Get current user role from the token
+     */
+    public Role getCurrentRole() {
+        TokenClaims claims = getCurrentClaims();
+        return claims != null && claims.getRole() != null ? Role.valueOf(claims.getRole()) : null;
     }
 
     /**
      * Check if current user has a specific role
      */
     public boolean hasRole(String role) {
-        User user = getCurrentUser();
-        return user != null && user.getRole().name().equals(role);
+        Role current = getCurrentRole();
+        return current != null && current.name().equals(role);
     }
 
     /**
      * Check if user ID matches current user
      */
     public boolean isCurrentUser(Long userId) {
-        User user = getCurrentUser();
-        return user != null && user.getId().equals(userId);
+        Long currentUserId = getCurrentUserId();
+        return currentUserId != null && currentUserId.equals(userId);
     }
 
     /**
      * Check if current user is the owner of the patient record
      */
     public boolean isPatientOwner(Long patientId) {
-        User user = getCurrentUser();
-        if (user == null) return false;
-
-        Optional<Patient> patient = patientRepository.findById(patientId);
-        if (patient.isEmpty()) return false;
-
-        // Check if patient's user_id matches current user
-        return patient.get().getUser() != null && 
-               patient.get().getUser().getId().equals(user.getId());
+        Long currentPatientId = resolvePatientId();
+        return currentPatientId != null && currentPatientId.equals(patientId);
     }
 
     /**
      * Check if current user is the doctor
      */
     public boolean isDoctorOwner(Long doctorId) {
-        User user = getCurrentUser();
-        if (user == null) return false;
-
-        Optional<Doctor> doctor = doctorRepository.findById(doctorId);
-        if (doctor.isEmpty()) return false;
-
-        return doctor.get().getUser() != null && 
-               doctor.get().getUser().getId().equals(user.getId());
+        Long currentDoctorId = resolveDoctorId();
+        return currentDoctorId != null && currentDoctorId.equals(doctorId);
     }
 
     /**
      * Get doctor ID for current user (if user is a doctor)
      */
     public Long getCurrentDoctorId() {
-        User user = getCurrentUser();
-        if (user == null || user.getRole() != Role.DOCTOR) return null;
-
-        return doctorRepository.findByUserId(user.getId())
-                .map(Doctor::getId)
-                .orElse(null);
+        if (getCurrentRole() != Role.DOCTOR) return null;
+        return resolveDoctorId();
     }
 
     /**
      * Get patient ID for current user (if user is a patient)
      */
     public Long getCurrentPatientId() {
-        User user = getCurrentUser();
-        if (user == null || user.getRole() != Role.PATIENT) return null;
+        if (getCurrentRole() != Role.PATIENT) return null;
+        return resolvePatientId();
+    }
 
-        return patientRepository.findByUserId(user.getId())
+    // Token claim first; a doctor whose profile was linked after login falls back to one memoized lookup
+    private Long resolveDoctorId() {
+        TokenClaims claims = getCurrentClaims();
+        if (claims == null) return null;
+        if (claims.getDoctorId() != null || getCurrentRole() != Role.DOCTOR) return claims.getDoctorId();
+        return requestMemo.get("doctorId", () -> doctorRepository.findByUserId(claims.getUserId())
+                .map(Doctor::getId)
+                .orElse(null));
+    }
+
+    // Token claim first; a patient whose record was linked after login falls back to one memoized lookup
+    private Long resolvePatientId() {
+        TokenClaims claims = getCurrentClaims();
+        if (claims == null) return null;
+        if (claims.getPatientId() != null || getCurrentRole() != Role.PATIENT) return claims.getPatientId();
+        return requestMemo.get("patientId", () -> patientRepository.findByUserId(claims.getUserId())
                 .map(Patient::getId)
-                .orElse(null);
+                .orElse(null));
     }
 
     /**
      * Check if current user owns the appointment (patient or doctor)
      */
     public boolean isAppointmentOwner(Long appointmentId) {
-        User user = getCurrentUser();
-        if (user == null) return false;
-
-        Optional<Appointment> appointment = appointmentRepository.findById(appointmentId);
-        if (appointment.isEmpty()) return false;
+        Long userId = getCurrentUserId();
+        if (userId == null) return false;
 
-        Appointment apt = appointment.get();
-        
-        // Check if current user is the patient
-        if (apt.getPatient() != null && apt.getPatient().getUser() != null &&
-            apt.getPatient().getUser().getId().equals(user.getId())) {
-            return true;
-        }
-
-        // Check if current user is the doctor
-        if (apt.getDoctor() != null && apt.getDoctor().getUser() != null &&
-            apt.getDoctor().getUser().getId().equals(user.getId())) {
-            return true;
-        }
-
-        return false;
+        // Current user is either the patient or the doctor
+        Optional<OwnershipView> owners = getAppointmentOwnership(appointmentId);
+        return owners.isPresent() &&
+               (userId.equals(owners.get().getPatientUserId()) || userId.equals(owners.get().getDoctorUserId()));
     }
 
     /**
      * Check if current user can view the appointment
      */
     public boolean canViewAppointment(Long appointmentId) {
-        User user = getCurrentUser();
-        if (user == null) return false;
+        Long userId = getCurrentUserId();
+        if (userId == null) return false;
 
         // ADMIN, RECEPTIONIST, TEST can view all
-        if (user.getRole() == Role.ADMIN || user.getRole() == Role.RECEPTIONIST || 
-            user.getRole() == Role.TEST) {
+        Role role = getCurrentRole();
+        if (role == Role.ADMIN || role == Role.RECEPTIONIST || role == Role.TEST) {
             return true;
         }
 
@@ -162,38 +164,26 @@ public class SecurityService {
      * Check if current user owns the prescription (patient or doctor)
      */
     public boolean isPrescriptionOwner(Long prescriptionId) {
-        User user = getCurrentUser();
-        if (user == null) return false;
-
-        Optional<Prescription> prescription = prescriptionRepository.findById(prescriptionId);
-        if (prescription.isEmpty()) return false;
-
-        Prescription presc = prescription.get();
-
-        // Check if current user is the patient
-        if (presc.getPatient() != null && presc.getPatient().getUser() != null &&
-            presc.getPatient().getUser().getId().equals(user.getId())) {
-            return true;
-        }
-
-        // Check if current user is the doctor
-        if (presc.getDoctor() != null && presc.getDoctor().getUser() != null &&
-            presc.getDoctor().getUser().getId().equals(user.getId())) {
-            return true;
-        }
-
-        return false;
+        Long userId = getCurrentUserId();
+        if (userId == null) return false;
+
+        // Current user is either the patient or the doctor
+        Optional<OwnershipView> owners = requestMemo.get("prescription:" + prescriptionId,
+                () -> prescriptionRepository.findOwnershipById(prescriptionId));
+        return owners.isPresent() &&
+               (userId.equals(owners.get().getPatientUserId()) || userId.equals(owners.get().getDoctorUserId()));
     }
 
     /**
      * Check if current user can view the prescription
      */
     public boolean canViewPrescription(Long prescriptionId) {
-        User user = getCurrentUser();
-        if (user == null) return false;
+        Long userId = getCurrentUserId();
+        if (userId == null) return false;
 
         // ADMIN, TEST can view all
-        if (user.getRole() == Role.ADMIN || user.getRole() == Role.TEST) {
+        Role role = getCurrentRole();
+        if (role == Role.ADMIN || role == Role.TEST) {
             return true;
         }
 
@@ -204,29 +194,25 @@ public class SecurityService {
      * Check if current user owns the bill (patient)
      */
     public boolean isBillOwner(Long billId) {
-        User user = getCurrentUser();
-        if (user == null) return false;
-
-        Optional<Bill> bill = billRepository.findById(billId);
-        if (bill.isEmpty()) return false;
-
-        Bill b = bill.get();
+        Long userId = getCurrentUserId();
+        if (userId == null) return false;
 
         // Check if current user is the patient
-        return b.getPatient() != null && b.getPatient().getUser() != null &&
-               b.getPatient().getUser().getId().equals(user.getId());
+        Optional<Long> patientUserId = requestMemo.get("bill:" + billId,
+                () -> billRepository.findPatientUserIdById(billId));
+        return patientUserId.isPresent() && patientUserId.get().equals(userId);
     }
 
     /**
      * Check if current user can view the bill
      */
     public boolean canViewBill(Long billId) {
-        User user = getCurrentUser();
-        if (user == null) return false;
+        Long userId = getCurrentUserId();
+        if (userId == null) return false;
 
         // ADMIN, RECEPTIONIST, TEST can view all
-        if (user.getRole() == Role.ADMIN || user.getRole() == Role.RECEPTIONIST || 
-            user.getRole() == Role.TEST) {
+        Role role = getCurrentRole();
+        if (role == Role.ADMIN || role == Role.RECEPTIONIST || role == Role.TEST) {
             return true;
         }
 
@@ -237,29 +223,27 @@ public class SecurityService {
      * Check if appointment belongs to current doctor
      */
     public boolean isAppointmentDoctor(Long appointmentId) {
-        User user = getCurrentUser();
-        if (user == null) return false;
+        Long userId = getCurrentUserId();
+        if (userId == null) return false;
 
-        Optional<Appointment> appointment = appointmentRepository.findById(appointmentId);
-        if (appointment.isEmpty()) return false;
-
-        Appointment apt = appointment.get();
-        return apt.getDoctor() != null && apt.getDoctor().getUser() != null &&
-               apt.getDoctor().getUser().getId().equals(user.getId());
+        Optional<OwnershipView> owners = getAppointmentOwnership(appointmentId);
+        return owners.isPresent() && userId.equals(owners.get().getDoctorUserId());
     }
 
     /**
      * Check if appointment belongs to current patient
      */
     public boolean isAppointmentPatient(Long appointmentId) {
-        User user = getCurrentUser();
-        if (user == null) return false;
+        Long userId = getCurrentUserId();
+        if (userId == null) return false;
 
-        Optional<Appointment> appointment = appointmentRepository.findById(appointmentId);
-        if (appointment.isEmpty()) return false;
+        Optional<OwnershipView> owners = getAppointmentOwnership(appointmentId);
+        return owners.isPresent() && userId.equals(owners.get().getPatientUserId());
+    }
 
-        Appointment apt = appointment.get();
-        return apt.getPatient() != null && apt.getPatient().getUser() != null &&
-               apt.getPatient().getUser().getId().equals(user.getId());
+    // Shared by the appointment owner/doctor/patient checks; one query per appointment per request
+    private Optional<OwnershipView> getAppointmentOwnership(Long appointmentId) {
+        return requestMemo.get("appointment:" + appointmentId,
+                () -> appointmentRepository.findOwnershipById(appointmentId));
     }
 }
@@ -0,0 +1,39 @@
+package com.caresync.security;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Verified claims of a JWT, extracted in a single parse
+ */
+@Getter
+@Builder
+public class TokenClaims {
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    private final String tokenId;
+    private final String type;
+    private final String subject;
+    private final Long userId;
+    private final String role;
+    private final Long patientId;
+    private final Long doctorId;
+    private final Integer version;
+    private final Date issuedAt;
+    private final Date expiration;
+
+    /**
+     * Tokens issued before the type claim existed are access tokens if they carry a role
+     */
+    public boolean isAccessToken() {
+        return type == null ? role != null : ACCESS.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return REFRESH.equals(type);
+    }
+}
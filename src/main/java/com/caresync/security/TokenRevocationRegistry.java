@@ -0,0 +1,150 @@
+package com.caresync.security;
+
+import com.caresync.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Revoked token ids (jti) held in two generations of Bloom filters.
+ * Checks are O(1) with no DB I/O. A generation is retired only after it is older
+ * than the refresh-token lifetime, so every revoked token is remembered until it
+ * would have expired anyway. A false positive forces a re-login, never the reverse.
+ * Every revocation is written through to the revoked_tokens table, which the filters
+ * are rebuilt from at startup; a full generation is regrown from it at double capacity.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationRegistry {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${app.security.revocation.expected-insertions:100000}")
+    private int expectedInsertions;
+
+    @Value("${app.security.revocation.false-positive-rate:0.0001}")
+    private double falsePositiveRate;
+
+    @Value("${app.jwt.refresh-expiration:604800000}")
+    private long generationMillis;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile long currentStartedAt;
+    private volatile int currentCapacity;
+    private final AtomicInteger currentInsertions = new AtomicInteger();
+
+    /**
+     * Rebuild from the table: everything revoked within one lifetime goes into the previous
+     * generation, which is kept for another full lifetime
+     */
+    @PostConstruct
+    synchronized void load() {
+        long now = System.currentTimeMillis();
+        List<String> tokenIds = revokedTokenRepository.findTokenIdsRevokedSince(toDateTime(now - generationMillis));
+        BloomFilter restored = BloomFilter.create(Math.max(expectedInsertions, tokenIds.size() * 2), falsePositiveRate);
+        tokenIds.forEach(restored::put);
+
+        previous = restored;
+        current = BloomFilter.create(expectedInsertions, falsePositiveRate);
+        currentCapacity = expectedInsertions;
+        currentInsertions.set(0);
+        currentStartedAt = now;
+        log.info("Loaded {} revoked token id(s)", tokenIds.size());
+    }
+
+    /**
+     * Revoke a token id until at least its maximum lifetime has passed
+     */
+    public synchronized void revoke(String tokenId) {
+        if (tokenId == null) return;
+        revokedTokenRepository.insertIfAbsent(tokenId, LocalDateTime.now());
+        remember(tokenId);
+    }
+
+    /**
+     * Revoke a token id unless it is already revoked; used to make refresh-token rotation single-use
+     */
+    public synchronized boolean tryRevoke(String tokenId) {
+        if (tokenId == null || isRevoked(tokenId)) return false;
+        if (revokedTokenRepository.insertIfAbsent(tokenId, LocalDateTime.now()) == 0) {
+            remember(tokenId);
+            return false;
+        }
+        remember(tokenId);
+        return true;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && (current.mightContain(tokenId) || previous.mightContain(tokenId));
+    }
+
+    public int getCurrentInsertions() {
+        return currentInsertions.get();
+    }
+
+    public int getCurrentCapacity() {
+        return currentCapacity;
+    }
+
+    /**
+     * Rotate the generation when due and purge rows no token can still need
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        rotateIfDue();
+        // A token revoked more than one lifetime ago has expired anyway
+        int purged = revokedTokenRepository.deleteRevokedBefore(
+                toDateTime(System.currentTimeMillis() - generationMillis));
+        if (purged > 0) {
+            log.info("Purged {} expired revoked token id(s)", purged);
+        }
+    }
+
+    private void remember(String tokenId) {
+        rotateIfDue();
+        current.put(tokenId);
+        if (currentInsertions.incrementAndGet() > currentCapacity) {
+            growCurrent();
+        }
+    }
+
+    // Past its capacity the false-positive rate climbs without bound and valid refresh tokens
+    // start failing as already used; rotating early would forget tokens, so grow instead
+    private synchronized void growCurrent() {
+        int capacity = (int) Math.min(Integer.MAX_VALUE / 2, (long) currentCapacity * 2);
+        List<String> tokenIds = revokedTokenRepository.findTokenIdsRevokedSince(toDateTime(currentStartedAt));
+        BloomFilter grown = BloomFilter.create(capacity, falsePositiveRate);
+        tokenIds.forEach(grown::put);
+        current = grown;
+        currentCapacity = capacity;
+        currentInsertions.set(tokenIds.size());
+        log.warn("Token revocation filter exceeded its expected insertions; regrown to {} from {} row(s). " +
+                 "Consider raising app.security.revocation.expected-insertions", capacity, tokenIds.size());
+    }
+
+    private synchronized void rotateIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - currentStartedAt < generationMillis) return;
+        previous = current;
+        current = BloomFilter.create(expectedInsertions, falsePositiveRate);
+        currentCapacity = expectedInsertions;
+        currentInsertions.set(0);
+        currentStartedAt = now;
+        log.info("Rotated token revocation filter generation");
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
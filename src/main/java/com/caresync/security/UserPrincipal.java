@@ -0,0 +1,68 @@
+package com.caresync.security;
+
+import com.caresync.entity.Role;
+import com.caresync.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Immutable authenticated principal built from a User entity.
+ * Detached from the persistence context so it can be cached between requests.
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String password;
+    private final Role role;
+    private final boolean active;
+    private final int tokenVersion;
+    private final Long patientId;
+    private final Long doctorId;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    private UserPrincipal(User user) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.email = user.getEmail();
+        this.password = user.getPassword();
+        this.role = user.getRole();
+        this.active = Boolean.TRUE.equals(user.getIsActive());
+        this.tokenVersion = user.getTokenVersionOrDefault();
+        // patient/doctor are eager one-to-one associations, already loaded with the user
+        this.patientId = user.getPatient() != null ? user.getPatient().getId() : null;
+        this.doctorId = user.getDoctor() != null ? user.getDoctor().getId() : null;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user);
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active;
+    }
+}
@@ -1,6 +1,7 @@
 package com.caresync.service;
 
 import com.caresync.dto.AppointmentDTO;
+import com.caresync.dto.DoctorAvailabilityDTO;
 import com.caresync.dto.PagedResponse;
 import com.caresync.entity.AppointmentStatus;
 import org.springframework.data.domain.Pageable;
@@ -37,6 +38,11 @@ public interface AppointmentService {
     
     List<AppointmentDTO> getTodaysAppointmentsByDoctor(Long doctorId);
     
+    // Most recent first, at most limit entries
+    List<AppointmentDTO> getRecentAppointmentsByDoctor(Long doctorId, int limit);
+    
+    List<AppointmentDTO> getRecentAppointmentsByPatient(Long patientId, int limit);
+    
     // Date range
     List<AppointmentDTO> getAppointmentsByDateRange(LocalDate startDate, LocalDate endDate);
     
@@ -45,6 +51,9 @@ public interface AppointmentService {
     // Available slots
     List<LocalTime> getAvailableSlots(Long doctorId, LocalDate date);
     
+    // Open slots of every bookable doctor in a department or specialization, earliest first
+    List<DoctorAvailabilityDTO> searchAvailability(Long departmentId, String specialization, LocalDate from, LocalDate to);
+    
     // Check conflicts
     boolean hasConflict(Long doctorId, LocalDate date, LocalTime time);
     
@@ -54,4 +63,8 @@ public interface AppointmentService {
     long countTodaysAppointments();
     
     long countByStatus(AppointmentStatus status);
+    
+    long countByDoctor(Long doctorId);
+    
+    long countByPatient(Long patientId);
 }
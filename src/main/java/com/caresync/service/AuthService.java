@@ -24,6 +24,11 @@ public interface AuthService {
      */
     LoginResponse refreshToken(String refreshToken);
 
+    /**
+     * Revoke the current access token and, if given, the refresh token
+     */
+    void logout(String refreshToken);
+
     /**
      * Get current authenticated user info
      */
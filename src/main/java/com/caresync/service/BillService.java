@@ -3,10 +3,14 @@ package com.caresync.service;
 import com.caresync.dto.BillDTO;
 import com.caresync.dto.PagedResponse;
 import com.caresync.dto.PaymentDTO;
+import com.caresync.dto.RevenueGranularity;
+import com.caresync.dto.RevenuePointDTO;
 import com.caresync.entity.BillStatus;
+import com.caresync.repository.projection.BillSummaryView;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -34,6 +38,11 @@ public interface BillService {
     
     List<BillDTO> getPendingBillsByPatient(Long patientId);
     
+    // Earliest due first, at most limit entries
+    List<BillDTO> getPendingBillsByPatient(Long patientId, int limit);
+    
+    BillSummaryView getPendingBillSummaryByPatient(Long patientId);
+    
     // By status
     PagedResponse<BillDTO> getBillsByStatus(BillStatus status, Pageable pageable);
     
@@ -42,6 +51,8 @@ public interface BillService {
     // Payment
     BillDTO processPayment(PaymentDTO paymentDTO);
     
+    List<PaymentDTO> getPaymentsByBill(Long billId);
+    
     // Generate bill number
     String generateBillNumber();
     
@@ -55,4 +66,10 @@ public interface BillService {
     BigDecimal getTodayRevenue();
     
     BigDecimal getMonthlyRevenue();
+    
+    // Revenue trend from the daily rollup, one point per period including empty ones
+    List<RevenuePointDTO> getRevenueSeries(RevenueGranularity granularity, LocalDate from, LocalDate to);
+    
+    // Recompute the daily rollup from the payment ledger; returns the number of days written
+    int rebuildRevenueRollup();
 }
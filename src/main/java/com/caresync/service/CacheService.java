@@ -0,0 +1,19 @@
+package com.caresync.service;
+
+import com.caresync.dto.CacheStatsDTO;
+
+import java.util.List;
+
+/**
+ * Service interface for inspecting and flushing cache regions
+ */
+public interface CacheService {
+
+    List<CacheStatsDTO> getCacheStats();
+
+    CacheStatsDTO getCacheStats(String name);
+
+    void clearCache(String name);
+
+    void clearAllCaches();
+}
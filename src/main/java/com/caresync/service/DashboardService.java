@@ -1,6 +1,7 @@
 package com.caresync.service;
 
 import com.caresync.dto.DashboardDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Service interface for Dashboard analytics
@@ -8,6 +9,8 @@ import com.caresync.dto.DashboardDTO;
 public interface DashboardService {
     
     DashboardDTO getAdminDashboard();
+
+    SseEmitter streamAdminDashboard();
     
     DashboardDTO getDoctorDashboard(Long doctorId);
     
@@ -5,21 +5,42 @@ import com.caresync.dto.CreateAccessCodeRequest;
 import com.caresync.entity.AccessCode;
 import com.caresync.repository.AccessCodeRepository;
 import com.caresync.service.AccessCodeService;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.security.SecureRandom;
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of AccessCodeService.
  * Manages access codes for protected write operations.
+ * Active codes are held in memory so validation is a map lookup; usage counts are
+ * accumulated in LongAdders and written behind in one batched UPDATE.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,11 +48,34 @@ import java.util.stream.Collectors;
 public class AccessCodeServiceImpl implements AccessCodeService {
 
     private final AccessCodeRepository accessCodeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
 
     private static final String CODE_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
     private static final int CODE_EXPIRY_HOURS = 1;
     private static final SecureRandom random = new SecureRandom();
 
+    private static final String FLUSH_USAGE_SQL =
+            "UPDATE access_codes SET usage_count = usage_count + ?, last_used = ? WHERE id = ?";
+
+    // Active, unexpired codes keyed by normalized code
+    private final Map<String, ActiveCode> activeCodes = new ConcurrentHashMap<>();
+
+    // Codes dropped from memory whose usage has not been written yet; retried by every flush
+    private final Set<ActiveCode> retiredCodes = ConcurrentHashMap.newKeySet();
+
+    private final Object flushLock = new Object();
+
+    // Fires once per code at its expiry instant; replaces per-validation expiry writes
+    private final ScheduledExecutorService expiryTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "access-code-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.access-codes.retention-days:30}")
+    private int retentionDays;
+
     @Value("${app.admin.username:#{null}}")
     private String adminUsername;
 
@@ -53,13 +97,13 @@ public class AccessCodeServiceImpl implements AccessCodeService {
                 .build();
 
         AccessCode saved = accessCodeRepository.save(accessCode);
+        afterCommit(() -> register(saved));
         log.info("Access code created by {}: {}", createdBy, code);
 
         return toDTO(saved);
     }
 
     @Override
-    @Transactional
     public boolean validateCode(String code) {
         if (code == null || code.trim().isEmpty()) {
             return false;
@@ -67,22 +111,21 @@ public class AccessCodeServiceImpl implements AccessCodeService {
 
         String normalizedCode = code.toUpperCase().trim();
 
-        return accessCodeRepository.findByCodeAndIsActiveTrue(normalizedCode)
-                .map(accessCode -> {
-                    if (accessCode.isExpired()) {
-                        accessCode.setIsActive(false);
-                        accessCodeRepository.save(accessCode);
-                        log.info("Access code expired: {}", normalizedCode);
-                        return false;
-                    }
+        ActiveCode activeCode = activeCodes.get(normalizedCode);
+        if (activeCode == null) {
+            // Not known locally (e.g. created by another instance): read once and register
+            activeCode = accessCodeRepository.findByCodeAndIsActiveTrue(normalizedCode)
+                    .filter(AccessCode::isValid)
+                    .map(this::register)
+                    .orElse(null);
+        }
+        if (activeCode == null || activeCode.isExpired()) {
+            return false;
+        }
 
-                    accessCode.setUsageCount(accessCode.getUsageCount() + 1);
-                    accessCode.setLastUsed(LocalDateTime.now());
-                    accessCodeRepository.save(accessCode);
-                    log.info("Access code validated: {}", normalizedCode);
-                    return true;
-                })
-                .orElse(false);
+        activeCode.recordUse();
+        log.debug("Access code validated: {}", normalizedCode);
+        return true;
     }
 
     @Override
@@ -105,8 +148,9 @@ public class AccessCodeServiceImpl implements AccessCodeService {
     @Transactional
     public void deactivateCode(Long id) {
         accessCodeRepository.findById(id).ifPresent(code -> {
-            code.setIsActive(false);
-            accessCodeRepository.save(code);
+            retire(code.getCode());
+            // Targeted update so the usage count just written behind is not overwritten
+            accessCodeRepository.deactivateById(code.getId());
             log.info("Access code deactivated: {}", code.getCode());
         });
     }
@@ -114,10 +158,60 @@ public class AccessCodeServiceImpl implements AccessCodeService {
     @Override
     @Transactional
     public void deleteCode(Long id) {
+        activeCodes.values().stream()
+                .filter(activeCode -> activeCode.id.equals(id))
+                .findFirst()
+                .ifPresent(activeCode -> activeCodes.remove(activeCode.code, activeCode));
         accessCodeRepository.deleteById(id);
         log.info("Access code deleted: {}", id);
     }
 
+    /**
+     * Load all currently valid codes into memory at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveCodes() {
+        accessCodeRepository.findValidCodes(LocalDateTime.now()).forEach(this::register);
+        log.info("Loaded {} active access code(s)", activeCodes.size());
+    }
+
+    /**
+     * Write accumulated usage counts behind in one batched UPDATE
+     */
+    @Scheduled(fixedDelayString = "${app.access-codes.usage-flush-interval-ms:10000}")
+    public void flushUsage() {
+        List<ActiveCode> codes = new ArrayList<>(activeCodes.values());
+        codes.addAll(retiredCodes);
+        flush(codes);
+    }
+
+    /**
+     * Deactivate all expired codes with one set-based UPDATE and purge those past retention
+     */
+    @Scheduled(fixedDelayString = "${app.access-codes.sweep-interval-ms:300000}")
+    public void sweepExpiredCodes() {
+        LocalDateTime now = LocalDateTime.now();
+
+        // Persist pending usage of anything the expiry timer has not retired yet
+        activeCodes.values().stream()
+                .filter(ActiveCode::isExpired)
+                .map(activeCode -> activeCode.code)
+                .toList()
+                .forEach(this::retire);
+
+        int deactivated = accessCodeRepository.deactivateExpired(now);
+        int purged = accessCodeRepository.deleteExpiredBefore(now.minusDays(retentionDays));
+        if (deactivated > 0 || purged > 0) {
+            log.info("Access code sweep: {} deactivated, {} purged", deactivated, purged);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        expiryTimer.shutdownNow();
+        flushUsage();
+    }
+
     @Override
     public boolean verifyAdminCredentials(String username, String password) {
         if (adminUsername == null || adminPassword == null ||
@@ -128,6 +222,95 @@ public class AccessCodeServiceImpl implements AccessCodeService {
         return adminUsername.equalsIgnoreCase(username) && adminPassword.equals(password);
     }
 
+    private ActiveCode register(AccessCode accessCode) {
+        ActiveCode activeCode = new ActiveCode(accessCode.getId(), accessCode.getCode(), accessCode.getExpiresAt());
+        ActiveCode existing = activeCodes.putIfAbsent(activeCode.code, activeCode);
+        if (existing != null) {
+            return existing;
+        }
+
+        long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(), activeCode.expiresAt).toMillis());
+        expiryTimer.schedule(() -> expire(activeCode), delayMillis, TimeUnit.MILLISECONDS);
+        return activeCode;
+    }
+
+    private void expire(ActiveCode activeCode) {
+        if (!activeCodes.remove(activeCode.code, activeCode)) {
+            return;
+        }
+        retiredCodes.add(activeCode);
+        try {
+            flush(List.of(activeCode));
+            accessCodeRepository.deactivateById(activeCode.id);
+            log.info("Access code expired: {}", activeCode.code);
+        } catch (RuntimeException ex) {
+            log.warn("Could not persist expiry of access code {}: {}", activeCode.code, ex.getMessage());
+        }
+    }
+
+    // Drop a code from memory; its pending usage is written now or by a later flush
+    private void retire(String code) {
+        ActiveCode activeCode = activeCodes.remove(code);
+        if (activeCode != null) {
+            retiredCodes.add(activeCode);
+            flush(List.of(activeCode));
+        }
+    }
+
+    // The scheduler, the expiry timer and request threads all flush; serialized so that
+    // each pending delta is read and written exactly once. Each flush commits on its own,
+    // independent of any caller transaction, and flushedUses advances only after that commit.
+    private void flush(List<ActiveCode> codes) {
+        synchronized (flushLock) {
+            List<Object[]> batch = new ArrayList<>();
+            List<ActiveCode> flushed = new ArrayList<>();
+            List<Long> totals = new ArrayList<>();
+            for (ActiveCode activeCode : codes) {
+                long total = activeCode.uses.sum();
+                long delta = total - activeCode.flushedUses;
+                if (delta > 0) {
+                    batch.add(new Object[]{delta, Timestamp.valueOf(activeCode.lastUsed), activeCode.id});
+                    flushed.add(activeCode);
+                    totals.add(total);
+                } else {
+                    retiredCodes.remove(activeCode);
+                }
+            }
+            if (batch.isEmpty()) return;
+
+            try {
+                TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                transaction.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(FLUSH_USAGE_SQL, batch);
+                    afterCommit(() -> {
+                        for (int i = 0; i < flushed.size(); i++) {
+                            flushed.get(i).flushedUses = totals.get(i);
+                            retiredCodes.remove(flushed.get(i));
+                        }
+                    });
+                });
+                log.debug("Flushed usage for {} access code(s)", batch.size());
+            } catch (RuntimeException ex) {
+                // Deltas stay pending (retired codes included) and are retried on the next flush
+                log.warn("Could not flush access code usage, will retry: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     private String generateUniqueCode() {
         String code;
         do {
@@ -154,18 +337,55 @@ public class AccessCodeServiceImpl implements AccessCodeService {
             remainingMinutes = Math.max(0, duration.toMinutes());
         }
 
+        // Overlay usage not yet written behind
+        int usageCount = accessCode.getUsageCount();
+        LocalDateTime lastUsed = accessCode.getLastUsed();
+        ActiveCode activeCode = activeCodes.get(accessCode.getCode());
+        if (activeCode != null && activeCode.id.equals(accessCode.getId())) {
+            usageCount += (int) (activeCode.uses.sum() - activeCode.flushedUses);
+            if (activeCode.lastUsed != null && (lastUsed == null || activeCode.lastUsed.isAfter(lastUsed))) {
+                lastUsed = activeCode.lastUsed;
+            }
+        }
+
         return AccessCodeDTO.builder()
                 .id(accessCode.getId())
                 .code(accessCode.getCode())
                 .createdBy(accessCode.getCreatedBy())
                 .note(accessCode.getNote())
-                .usageCount(accessCode.getUsageCount())
+                .usageCount(usageCount)
                 .isActive(accessCode.getIsActive() && !accessCode.isExpired())
-                .lastUsed(accessCode.getLastUsed())
+                .lastUsed(lastUsed)
                 .createdAt(accessCode.getCreatedAt())
                 .expiresAt(accessCode.getExpiresAt())
                 .remainingMinutes(remainingMinutes)
                 .build();
     }
-}
 
+    /**
+     * In-memory state of an active code
+     */
+    private static final class ActiveCode {
+        private final Long id;
+        private final String code;
+        private final LocalDateTime expiresAt;
+        private final LongAdder uses = new LongAdder();
+        private volatile long flushedUses;
+        private volatile LocalDateTime lastUsed;
+
+        private ActiveCode(Long id, String code, LocalDateTime expiresAt) {
+            this.id = id;
+            this.code = code;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return LocalDateTime.now().isAfter(expiresAt);
+        }
+
+        private void recordUse() {
+            lastUsed = LocalDateTime.now();
+            uses.increment();
+        }
+    }
+}
@@ -1,25 +1,37 @@
 package com.caresync.service.impl;
 
 import com.caresync.dto.AppointmentDTO;
+import com.caresync.dto.DoctorAvailabilityDTO;
 import com.caresync.dto.PagedResponse;
 import com.caresync.entity.*;
+import com.caresync.event.AppointmentChangedEvent;
 import com.caresync.exception.BadRequestException;
 import com.caresync.exception.ResourceNotFoundException;
 import com.caresync.repository.AppointmentRepository;
 import com.caresync.repository.DoctorRepository;
 import com.caresync.repository.DoctorScheduleRepository;
 import com.caresync.repository.PatientRepository;
+import com.caresync.repository.projection.BookedSlotView;
 import com.caresync.service.AppointmentService;
+import com.caresync.service.impl.SlotAvailabilityIndex.DoctorSlots;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +43,11 @@ public class AppointmentServiceImpl implements AppointmentService {
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final DoctorScheduleRepository scheduleRepository;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.slots.search-max-days:31}")
+    private int searchMaxDays;
 
     @Override
     @Transactional(readOnly = true)
@@ -83,6 +100,7 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .build();
 
         Appointment saved = appointmentRepository.save(appointment);
+        eventPublisher.publishEvent(new AppointmentChangedEvent(saved.getId(), null, AppointmentChangedEvent.State.of(saved)));
         return mapToDTO(saved);
     }
 
@@ -90,6 +108,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     public AppointmentDTO updateAppointment(Long id, AppointmentDTO dto) {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", id));
+        AppointmentChangedEvent.State before = AppointmentChangedEvent.State.of(appointment);
 
         // If changing date/time, check for conflicts
         if (!appointment.getAppointmentDate().equals(dto.getAppointmentDate()) ||
@@ -111,6 +130,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
 
         Appointment updated = appointmentRepository.save(appointment);
+        eventPublisher.publishEvent(new AppointmentChangedEvent(id, before, AppointmentChangedEvent.State.of(updated)));
         return mapToDTO(updated);
     }
 
@@ -118,15 +138,19 @@ public class AppointmentServiceImpl implements AppointmentService {
     public void deleteAppointment(Long id) {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", id));
+        AppointmentChangedEvent.State before = AppointmentChangedEvent.State.of(appointment);
         appointmentRepository.delete(appointment);
+        eventPublisher.publishEvent(new AppointmentChangedEvent(id, before, null));
     }
 
     @Override
     public void updateAppointmentStatus(Long id, AppointmentStatus status) {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", id));
+        AppointmentChangedEvent.State before = AppointmentChangedEvent.State.of(appointment);
         appointment.setStatus(status);
         appointmentRepository.save(appointment);
+        eventPublisher.publishEvent(new AppointmentChangedEvent(id, before, AppointmentChangedEvent.State.of(appointment)));
     }
 
     @Override
@@ -168,6 +192,25 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getRecentAppointmentsByDoctor(Long doctorId, int limit) {
+        return appointmentRepository.findRecentByDoctorId(doctorId, PageRequest.of(0, limit)).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getRecentAppointmentsByPatient(Long patientId, int limit) {
+        if (!patientRepository.existsById(patientId)) {
+            throw new ResourceNotFoundException("Patient", "id", patientId);
+        }
+        return appointmentRepository.findRecentByPatientId(patientId, PageRequest.of(0, limit)).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByDateRange(LocalDate startDate, LocalDate endDate) {
@@ -190,43 +233,62 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     @Transactional(readOnly = true)
     public List<LocalTime> getAvailableSlots(Long doctorId, LocalDate date) {
-        Doctor doctor = doctorRepository.findByIdWithSchedules(doctorId)
-                .orElseThrow(() -> new ResourceNotFoundException("Doctor", "id", doctorId));
-
-        // Get day of week for the requested date
-        DayOfWeek dayOfWeek = DayOfWeek.valueOf(date.getDayOfWeek().name());
-
-        // Find doctor's schedule for that day
-        DoctorSchedule schedule = scheduleRepository.findByDoctorIdAndDayOfWeek(doctorId, dayOfWeek)
-                .orElse(null);
+        return slotAvailabilityIndex.getAvailableSlots(doctorId, date);
+    }
 
-        if (schedule == null || !schedule.getIsAvailable()) {
-            return new ArrayList<>(); // Doctor not available on this day
+    @Override
+    @Transactional(readOnly = true)
+    public List<DoctorAvailabilityDTO> searchAvailability(Long departmentId, String specialization,
+                                                         LocalDate from, LocalDate to) {
+        if (departmentId == null && !StringUtils.hasText(specialization)) {
+            throw new BadRequestException("Either departmentId or specialization is required");
+        }
+        if (to.isBefore(from)) {
+            throw new BadRequestException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= searchMaxDays) {
+            throw new BadRequestException("Date range must not exceed " + searchMaxDays + " days");
         }
 
-        // Get existing appointments for that day
-        List<Appointment> existingAppointments = appointmentRepository.findByDoctorIdAndDate(doctorId, date);
-        List<LocalTime> bookedSlots = existingAppointments.stream()
-                .filter(a -> a.getStatus() != AppointmentStatus.CANCELLED)
-                .map(Appointment::getAppointmentTime)
-                .collect(Collectors.toList());
+        // Past days have nothing bookable
+        LocalDate today = LocalDate.now();
+        LocalTime now = LocalTime.now();
+        LocalDate start = from.isBefore(today) ? today : from;
+        if (start.isAfter(to)) {
+            return new ArrayList<>();
+        }
 
-        // Generate available slots
-        List<LocalTime> availableSlots = new ArrayList<>();
-        LocalTime slotTime = schedule.getStartTime();
-        int slotDuration = schedule.getSlotDurationMinutes();
-
-        while (slotTime.isBefore(schedule.getEndTime())) {
-            if (!bookedSlots.contains(slotTime)) {
-                // If date is today, only show future slots
-                if (!date.equals(LocalDate.now()) || slotTime.isAfter(LocalTime.now())) {
-                    availableSlots.add(slotTime);
-                }
-            }
-            slotTime = slotTime.plusMinutes(slotDuration);
+        List<Doctor> doctors = departmentId != null
+                ? doctorRepository.findBookableByDepartment(departmentId)
+                : doctorRepository.findBookableBySpecialization(specialization.trim());
+        if (departmentId != null && StringUtils.hasText(specialization)) {
+            doctors = doctors.stream()
+                    .filter(d -> specialization.trim().equalsIgnoreCase(d.getSpecialization()))
+                    .collect(Collectors.toList());
+        }
+        if (doctors.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        return availableSlots;
+        // One query each for schedules and bookings across all matching doctors
+        List<Long> doctorIds = doctors.stream().map(Doctor::getId).collect(Collectors.toList());
+        Map<Long, List<DoctorSchedule>> schedules = scheduleRepository.findAvailableSchedulesByDoctors(doctorIds).stream()
+                .collect(Collectors.groupingBy(schedule -> schedule.getDoctor().getId()));
+        Map<Long, List<BookedSlotView>> bookings = appointmentRepository.findBookedSlotsByDoctors(doctorIds, start, to).stream()
+                .collect(Collectors.groupingBy(BookedSlotView::getDoctorId));
+
+        // Slot computation is in-memory, so doctors are processed in parallel
+        return doctors.parallelStream()
+                .map(doctor -> mapToAvailability(doctor,
+                        DoctorSlots.build(start, to,
+                                schedules.getOrDefault(doctor.getId(), List.of()),
+                                bookings.getOrDefault(doctor.getId(), List.of())),
+                        today, now))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(DoctorAvailabilityDTO::getFirstAvailableDate)
+                        .thenComparing(DoctorAvailabilityDTO::getFirstAvailableTime)
+                        .thenComparing(DoctorAvailabilityDTO::getDoctorName))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -253,6 +315,18 @@ public class AppointmentServiceImpl implements AppointmentService {
         return appointmentRepository.countByStatus(status);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long countByDoctor(Long doctorId) {
+        return appointmentRepository.countByDoctorId(doctorId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countByPatient(Long patientId) {
+        return appointmentRepository.countByPatientId(patientId);
+    }
+
     // Helper methods
     private PagedResponse<AppointmentDTO> buildPagedResponse(Page<Appointment> page) {
         List<AppointmentDTO> content = page.getContent().stream()
@@ -270,6 +344,32 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .build();
     }
 
+    // Null when the doctor has no open slot in the range
+    private DoctorAvailabilityDTO mapToAvailability(Doctor doctor, DoctorSlots slots, LocalDate today, LocalTime now) {
+        List<DoctorAvailabilityDTO.DaySlots> days = new ArrayList<>();
+        for (LocalDate date = slots.from; !date.isAfter(slots.to); date = date.plusDays(1)) {
+            List<LocalTime> free = slots.available(date, today, now);
+            if (!free.isEmpty()) {
+                days.add(DoctorAvailabilityDTO.DaySlots.builder().date(date).slots(free).build());
+            }
+        }
+        if (days.isEmpty()) {
+            return null;
+        }
+
+        DoctorAvailabilityDTO.DaySlots first = days.get(0);
+        return DoctorAvailabilityDTO.builder()
+                .doctorId(doctor.getId())
+                .doctorName(doctor.getFullName())
+                .specialization(doctor.getSpecialization())
+                .departmentId(doctor.getDepartment() != null ? doctor.getDepartment().getId() : null)
+                .departmentName(doctor.getDepartment() != null ? doctor.getDepartment().getName() : null)
+                .firstAvailableDate(first.getDate())
+                .firstAvailableTime(first.getSlots().get(0))
+                .days(days)
+                .build();
+    }
+
     private AppointmentDTO mapToDTO(Appointment appointment) {
         return AppointmentDTO.builder()
                 .id(appointment.getId())
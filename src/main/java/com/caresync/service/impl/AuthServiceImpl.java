@@ -5,11 +5,15 @@ import com.caresync.dto.LoginResponse;
 import com.caresync.dto.RegisterRequest;
 import com.caresync.entity.Role;
 import com.caresync.entity.User;
-import com.caresync.exception.ResourceNotFoundException;
-import com.caresync.repository.DoctorRepository;
-import com.caresync.repository.PatientRepository;
 import com.caresync.repository.UserRepository;
+import com.caresync.security.CustomUserDetailsService;
+import com.caresync.security.JwtAuthenticationToken;
 import com.caresync.security.JwtTokenProvider;
+import com.caresync.security.LastLoginBuffer;
+import com.caresync.security.PrincipalCache;
+import com.caresync.security.TokenClaims;
+import com.caresync.security.TokenRevocationRegistry;
+import com.caresync.security.UserPrincipal;
 import com.caresync.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,7 +21,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,13 +37,14 @@ public class AuthServiceImpl implements AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
-    private final PatientRepository patientRepository;
-    private final DoctorRepository doctorRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final PrincipalCache principalCache;
+    private final CustomUserDetailsService customUserDetailsService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     @Override
-    @Transactional
     public LoginResponse login(LoginRequest request) {
         try {
             // Authenticate user with username
@@ -52,20 +57,13 @@ public class AuthServiceImpl implements AuthService {
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            // Get user from database by username or email
-            User user = userRepository.findByUsername(request.getUsername())
-                    .orElseGet(() -> userRepository.findByEmail(request.getUsername())
-                            .orElseThrow(() -> new ResourceNotFoundException("User", "username", request.getUsername())));
-
-            // Update last login
-            user.setLastLogin(LocalDateTime.now());
-            userRepository.save(user);
+            // Reuse the principal the authentication provider already loaded
+            UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
 
-            // Generate tokens using username
-            String token = jwtTokenProvider.generateToken(user.getUsername());
-            String refreshToken = jwtTokenProvider.generateRefreshToken(user.getUsername());
+            // Last login is written asynchronously in coalesced batches
+            lastLoginBuffer.record(principal.getId(), LocalDateTime.now());
 
-            return buildLoginResponse(user, token, refreshToken);
+            return buildLoginResponse(principal);
 
         } catch (BadCredentialsException e) {
             throw new BadCredentialsException("Invalid username or password");
@@ -96,106 +94,85 @@ public class AuthServiceImpl implements AuthService {
 
         User savedUser = userRepository.save(user);
 
-        // Generate tokens
-        String token = jwtTokenProvider.generateToken(savedUser.getEmail());
-        String refreshToken = jwtTokenProvider.generateRefreshToken(savedUser.getEmail());
-
-        return buildLoginResponse(savedUser, token, refreshToken);
+        return buildLoginResponse(UserPrincipal.from(savedUser));
     }
 
     @Override
     public LoginResponse refreshToken(String refreshToken) {
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
+        TokenClaims claims = jwtTokenProvider.parseToken(refreshToken)
+                .filter(TokenClaims::isRefreshToken)
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        UserPrincipal principal;
+        try {
+            principal = principalCache.get(claims.getSubject(), customUserDetailsService::loadUserByUsername);
+        } catch (UsernameNotFoundException e) {
             throw new BadCredentialsException("Invalid refresh token");
         }
 
-        String username = jwtTokenProvider.getUsernameFromToken(refreshToken);
-        User user = userRepository.findByUsername(username)
-                .orElseGet(() -> userRepository.findByEmail(username)
-                        .orElseThrow(() -> new ResourceNotFoundException("User", "username", username)));
+        // Refresh tokens issued before a role/status/password change are no longer valid
+        if (!principal.isEnabled() || !principal.getId().equals(claims.getUserId())
+                || claims.getVersion() == null || claims.getVersion() != principal.getTokenVersion()) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
 
-        String newToken = jwtTokenProvider.generateToken(user.getUsername());
-        String newRefreshToken = jwtTokenProvider.generateRefreshToken(user.getUsername());
+        // Rotation: each refresh token can be exchanged once
+        if (!tokenRevocationRegistry.tryRevoke(claims.getTokenId())) {
+            throw new BadCredentialsException("Refresh token has been revoked");
+        }
 
-        return buildLoginResponse(user, newToken, newRefreshToken);
+        return buildLoginResponse(principal);
     }
 
     @Override
-    public LoginResponse.UserInfo getCurrentUser() {
+    public void logout(String refreshToken) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new BadCredentialsException("User not authenticated");
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication) {
+            tokenRevocationRegistry.revoke(jwtAuthentication.getClaims().getTokenId());
         }
 
-        String username;
-        if (authentication.getPrincipal() instanceof UserDetails) {
-            username = ((UserDetails) authentication.getPrincipal()).getUsername();
-        } else {
-            username = authentication.getPrincipal().toString();
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            jwtTokenProvider.parseToken(refreshToken)
+                    .filter(TokenClaims::isRefreshToken)
+                    .ifPresent(claims -> tokenRevocationRegistry.revoke(claims.getTokenId()));
         }
+    }
 
-        User user = userRepository.findByUsername(username)
-                .orElseGet(() -> userRepository.findByEmail(username)
-                        .orElseThrow(() -> new ResourceNotFoundException("User", "username", username)));
-
-        // Get patientId or doctorId based on role
-        Long patientId = null;
-        Long doctorId = null;
+    @Override
+    public LoginResponse.UserInfo getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
-        if (user.getRole() == Role.PATIENT) {
-            patientId = patientRepository.findByUserId(user.getId())
-                    .map(p -> p.getId())
-                    .orElse(null);
-        } else if (user.getRole() == Role.DOCTOR) {
-            doctorId = doctorRepository.findByUserId(user.getId())
-                    .map(d -> d.getId())
-                    .orElse(null);
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new BadCredentialsException("User not authenticated");
         }
 
-        return LoginResponse.UserInfo.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .role(user.getRole())
-                .dashboardUrl(LoginResponse.getDashboardUrl(user.getRole()))
-                .patientId(patientId)
-                .doctorId(doctorId)
-                .build();
+        // Principal already carries the linked patient/doctor ids
+        return buildUserInfo(principal);
     }
 
     /**
-     * Build login response with user info and tokens
+     * Build login response with user info and freshly issued tokens
      */
-    private LoginResponse buildLoginResponse(User user, String token, String refreshToken) {
-        // Get patientId or doctorId based on role
-        Long patientId = null;
-        Long doctorId = null;
-        
-        if (user.getRole() == Role.PATIENT) {
-            patientId = patientRepository.findByUserId(user.getId())
-                    .map(p -> p.getId())
-                    .orElse(null);
-        } else if (user.getRole() == Role.DOCTOR) {
-            doctorId = doctorRepository.findByUserId(user.getId())
-                    .map(d -> d.getId())
-                    .orElse(null);
-        }
-        
+    private LoginResponse buildLoginResponse(UserPrincipal principal) {
         return LoginResponse.builder()
-                .token(token)
-                .refreshToken(refreshToken)
+                .token(jwtTokenProvider.generateToken(principal))
+                .refreshToken(jwtTokenProvider.generateRefreshToken(principal))
                 .tokenType("Bearer")
                 .expiresIn(jwtTokenProvider.getExpirationTime())
-                .user(LoginResponse.UserInfo.builder()
-                        .id(user.getId())
-                        .username(user.getUsername())
-                        .email(user.getEmail())
-                        .role(user.getRole())
-                        .dashboardUrl(LoginResponse.getDashboardUrl(user.getRole()))
-                        .patientId(patientId)
-                        .doctorId(doctorId)
-                        .build())
+                .user(buildUserInfo(principal))
+                .build();
+    }
+
+    private LoginResponse.UserInfo buildUserInfo(UserPrincipal principal) {
+        return LoginResponse.UserInfo.builder()
+                .id(principal.getId())
+                .username(principal.getUsername())
+                .email(principal.getEmail())
+                .role(principal.getRole())
+                .dashboardUrl(LoginResponse.getDashboardUrl(principal.getRole()))
+                .patientId(principal.getRole() == Role.PATIENT ? principal.getPatientId() : null)
+                .doctorId(principal.getRole() == Role.DOCTOR ? principal.getDoctorId() : null)
                 .build();
     }
 }
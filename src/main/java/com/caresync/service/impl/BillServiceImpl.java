@@ -4,13 +4,23 @@ import com.caresync.dto.BillDTO;
 import com.caresync.dto.BillItemDTO;
 import com.caresync.dto.PagedResponse;
 import com.caresync.dto.PaymentDTO;
+import com.caresync.dto.RevenueGranularity;
+import com.caresync.dto.RevenuePointDTO;
 import com.caresync.entity.*;
+import com.caresync.event.BillChangedEvent;
 import com.caresync.exception.BadRequestException;
 import com.caresync.exception.ResourceNotFoundException;
 import com.caresync.repository.*;
+import com.caresync.repository.projection.BillSummaryView;
 import com.caresync.service.BillService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,11 +29,15 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional
 public class BillServiceImpl implements BillService {
 
@@ -31,6 +45,18 @@ public class BillServiceImpl implements BillService {
     private final BillItemRepository billItemRepository;
     private final PatientRepository patientRepository;
     private final AppointmentRepository appointmentRepository;
+    private final PaymentRepository paymentRepository;
+    private final DailyRevenueRollupRepository dailyRevenueRollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.revenue.series.max-days:366}")
+    private int revenueSeriesMaxDays;
+
+    @Value("${app.revenue.series.max-weeks:260}")
+    private int revenueSeriesMaxWeeks;
+
+    @Value("${app.revenue.series.max-months:120}")
+    private int revenueSeriesMaxMonths;
 
     @Override
     @Transactional(readOnly = true)
@@ -67,7 +93,7 @@ public class BillServiceImpl implements BillService {
                 .discountAmount(dto.getDiscountAmount() != null ? dto.getDiscountAmount() : BigDecimal.ZERO)
                 .taxAmount(dto.getTaxAmount() != null ? dto.getTaxAmount() : BigDecimal.ZERO)
                 .finalAmount(dto.getFinalAmount() != null ? dto.getFinalAmount() : BigDecimal.ZERO)
-                .paidAmount(dto.getPaidAmount() != null ? dto.getPaidAmount() : BigDecimal.ZERO)
+                .paidAmount(BigDecimal.ZERO)
                 .status(BillStatus.PENDING)
                 .dueDate(dto.getDueDate() != null ? dto.getDueDate() : LocalDate.now().plusDays(30))
                 .notes(dto.getNotes())
@@ -102,6 +128,21 @@ public class BillServiceImpl implements BillService {
             billRepository.save(saved);
         }
 
+        // An amount paid up front goes through the ledger like any other payment
+        BigDecimal initialPayment = dto.getPaidAmount() != null ? dto.getPaidAmount() : BigDecimal.ZERO;
+        if (initialPayment.signum() < 0) {
+            throw new BadRequestException("Paid amount must not be negative");
+        }
+        if (initialPayment.signum() > 0) {
+            if (initialPayment.compareTo(saved.getFinalAmount()) > 0) {
+                throw new BadRequestException("Paid amount exceeds the bill's final amount");
+            }
+            recordPayment(saved, initialPayment, dto.getPaymentMethod(), "Paid at billing");
+            saved.setStatus(initialPayment.compareTo(saved.getFinalAmount()) >= 0 ? BillStatus.PAID : BillStatus.PARTIAL);
+            billRepository.save(saved);
+        }
+
+        eventPublisher.publishEvent(new BillChangedEvent(saved.getId(), null, BillChangedEvent.State.of(saved)));
         return getBillById(saved.getId());
     }
 
@@ -109,6 +150,7 @@ public class BillServiceImpl implements BillService {
     public BillDTO updateBill(Long id, BillDTO dto) {
         Bill bill = billRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Bill", "id", id));
+        BillChangedEvent.State before = BillChangedEvent.State.of(bill);
 
         bill.setDiscountAmount(dto.getDiscountAmount() != null ? dto.getDiscountAmount() : bill.getDiscountAmount());
         bill.setTaxAmount(dto.getTaxAmount() != null ? dto.getTaxAmount() : bill.getTaxAmount());
@@ -137,6 +179,7 @@ public class BillServiceImpl implements BillService {
         bill.setTotalAmount(calculatedTotal);
         bill.setFinalAmount(calculatedTotal.subtract(bill.getDiscountAmount()).add(bill.getTaxAmount()));
         billRepository.save(bill);
+        eventPublisher.publishEvent(new BillChangedEvent(id, before, BillChangedEvent.State.of(bill)));
 
         return getBillById(id);
     }
@@ -145,21 +188,32 @@ public class BillServiceImpl implements BillService {
     public void deleteBill(Long id) {
         Bill bill = billRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Bill", "id", id));
+        BillChangedEvent.State before = BillChangedEvent.State.of(bill);
+
+        // The ledger rows go with the bill; take each one off the day it was received
+        for (Payment payment : paymentRepository.findByBillIdOrderByPaidAtAsc(id)) {
+            dailyRevenueRollupRepository.addRevenue(payment.getPaidAt().toLocalDate(), payment.getAmount().negate(), -1);
+        }
         billRepository.delete(bill);
+        eventPublisher.publishEvent(new BillChangedEvent(id, before, null));
     }
 
     @Override
     public BillDTO updateStatus(Long id, BillStatus status) {
         Bill bill = billRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Bill", "id", id));
+        BillChangedEvent.State before = BillChangedEvent.State.of(bill);
         
         bill.setStatus(status);
         if (status == BillStatus.PAID) {
-            bill.setPaidAmount(bill.getFinalAmount());
-            bill.setPaymentDate(LocalDateTime.now());
+            BigDecimal settled = bill.getFinalAmount().subtract(bill.getPaidAmount());
+            if (settled.signum() > 0) {
+                recordPayment(bill, settled, bill.getPaymentMethod(), "Marked as paid");
+            }
         }
         
         Bill updated = billRepository.save(bill);
+        eventPublisher.publishEvent(new BillChangedEvent(id, before, BillChangedEvent.State.of(updated)));
         return mapToDTO(updated);
     }
 
@@ -184,6 +238,20 @@ public class BillServiceImpl implements BillService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<BillDTO> getPendingBillsByPatient(Long patientId, int limit) {
+        return billRepository.findPendingBillsByPatient(patientId, PageRequest.of(0, limit)).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BillSummaryView getPendingBillSummaryByPatient(Long patientId) {
+        return billRepository.summarizePendingBillsByPatient(patientId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<BillDTO> getBillsByStatus(BillStatus status, Pageable pageable) {
@@ -211,6 +279,7 @@ public class BillServiceImpl implements BillService {
         if (bill.getStatus() == BillStatus.CANCELLED) {
             throw new BadRequestException("Cannot process payment for cancelled bill");
         }
+        BillChangedEvent.State before = BillChangedEvent.State.of(bill);
 
         BigDecimal newPaidAmount = bill.getPaidAmount().add(paymentDTO.getAmount());
         
@@ -218,9 +287,7 @@ public class BillServiceImpl implements BillService {
             throw new BadRequestException("Payment amount exceeds balance due");
         }
 
-        bill.setPaidAmount(newPaidAmount);
-        bill.setPaymentMethod(paymentDTO.getPaymentMethod());
-        bill.setPaymentDate(LocalDateTime.now());
+        recordPayment(bill, paymentDTO.getAmount(), paymentDTO.getPaymentMethod(), paymentDTO.getNotes());
 
         // Update status
         if (newPaidAmount.compareTo(bill.getFinalAmount()) >= 0) {
@@ -229,15 +296,22 @@ public class BillServiceImpl implements BillService {
             bill.setStatus(BillStatus.PARTIAL);
         }
 
-        if (paymentDTO.getNotes() != null) {
-            String existingNotes = bill.getNotes() != null ? bill.getNotes() + "\n" : "";
-            bill.setNotes(existingNotes + "Payment: " + paymentDTO.getNotes());
-        }
-
         Bill updated = billRepository.save(bill);
+        eventPublisher.publishEvent(new BillChangedEvent(updated.getId(), before, BillChangedEvent.State.of(updated)));
         return mapToDTO(updated);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<PaymentDTO> getPaymentsByBill(Long billId) {
+        if (!billRepository.existsById(billId)) {
+            throw new ResourceNotFoundException("Bill", "id", billId);
+        }
+        return paymentRepository.findByBillIdOrderByPaidAtAsc(billId).stream()
+                .map(payment -> mapPaymentToDTO(payment, billId))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public String generateBillNumber() {
         String prefix = "BILL-" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMM"));
@@ -271,22 +345,91 @@ public class BillServiceImpl implements BillService {
     @Transactional(readOnly = true)
     public BigDecimal getTodayRevenue() {
         LocalDate today = LocalDate.now();
-        LocalDateTime startOfDay = today.atStartOfDay();
-        LocalDateTime startOfNextDay = today.plusDays(1).atStartOfDay();
-        BigDecimal revenue = billRepository.sumRevenueBetweenDates(startOfDay, startOfNextDay);
-        return revenue != null ? revenue : BigDecimal.ZERO;
+        return dailyRevenueRollupRepository.sumRevenueBetween(today, today);
     }
 
     @Override
     @Transactional(readOnly = true)
     public BigDecimal getMonthlyRevenue() {
         LocalDate firstOfMonth = LocalDate.now().withDayOfMonth(1);
-        LocalDate firstOfNextMonth = firstOfMonth.plusMonths(1);
-        BigDecimal revenue = billRepository.sumRevenueBetweenDates(firstOfMonth.atStartOfDay(), firstOfNextMonth.atStartOfDay());
-        return revenue != null ? revenue : BigDecimal.ZERO;
+        return dailyRevenueRollupRepository.sumRevenueBetween(firstOfMonth, firstOfMonth.plusMonths(1).minusDays(1));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RevenuePointDTO> getRevenueSeries(RevenueGranularity granularity, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        // Every period gets a point, zero-filled or not, so the range bounds the response size
+        int maxPeriods = switch (granularity) {
+            case DAY -> revenueSeriesMaxDays;
+            case WEEK -> revenueSeriesMaxWeeks;
+            case MONTH -> revenueSeriesMaxMonths;
+        };
+        if (granularity.periodsBetween(from, to) > maxPeriods) {
+            throw new BadRequestException("Range spans more than " + maxPeriods + " "
+                    + granularity.name().toLowerCase() + " periods; narrow it or use a coarser granularity");
+        }
+
+        // Fold daily rows into periods; rows cover at most one per day in the range
+        Map<LocalDate, RevenuePointDTO> points = new TreeMap<>();
+        for (DailyRevenueRollup day : dailyRevenueRollupRepository.findBetween(from, to)) {
+            RevenuePointDTO point = points.computeIfAbsent(granularity.periodStart(day.getRevenueDate()),
+                    start -> new RevenuePointDTO(start, BigDecimal.ZERO, 0L));
+            point.setRevenue(point.getRevenue().add(day.getRevenue()));
+            point.setPayments(point.getPayments() + day.getPaymentCount());
+        }
+
+        // Periods without payments are reported as zero so charts keep an even axis
+        List<RevenuePointDTO> series = new ArrayList<>();
+        for (LocalDate start = granularity.periodStart(from); !start.isAfter(to); start = granularity.nextPeriod(start)) {
+            RevenuePointDTO point = points.get(start);
+            series.add(point != null ? point : new RevenuePointDTO(start, BigDecimal.ZERO, 0L));
+        }
+        return series;
+    }
+
+    @Override
+    public int rebuildRevenueRollup() {
+        long start = System.currentTimeMillis();
+        dailyRevenueRollupRepository.deleteAllRows();
+        int days = dailyRevenueRollupRepository.insertFromPayments();
+        log.info("Rebuilt daily revenue rollup: {} days in {} ms", days, System.currentTimeMillis() - start);
+        return days;
+    }
+
+    /**
+     * Give bills paid before the ledger existed a ledger row, then backfill the rollup if it is stale
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRevenueRollup() {
+        int migrated = paymentRepository.insertLegacyPayments();
+        if (migrated > 0) {
+            log.info("Recorded {} legacy bill payments in the payment ledger", migrated);
+        }
+        if (migrated > 0 || (dailyRevenueRollupRepository.count() == 0 && paymentRepository.count() > 0)) {
+            rebuildRevenueRollup();
+        }
     }
 
     // Helper methods
+    // Append to the ledger, keep the bill's running totals and the daily rollup in step
+    private void recordPayment(Bill bill, BigDecimal amount, PaymentMethod method, String notes) {
+        Payment payment = paymentRepository.save(Payment.builder()
+                .bill(bill)
+                .amount(amount)
+                .paymentMethod(method)
+                .paidAt(LocalDateTime.now())
+                .notes(notes)
+                .build());
+
+        bill.setPaidAmount(bill.getPaidAmount().add(amount));
+        bill.setPaymentMethod(method);
+        bill.setPaymentDate(payment.getPaidAt());
+        dailyRevenueRollupRepository.addRevenue(payment.getPaidAt().toLocalDate(), amount, 1);
+    }
+
     private PagedResponse<BillDTO> buildPagedResponse(Page<Bill> page) {
         List<BillDTO> content = page.getContent().stream()
                 .map(this::mapToDTO)
@@ -348,6 +491,17 @@ public class BillServiceImpl implements BillService {
         return dto;
     }
 
+    private PaymentDTO mapPaymentToDTO(Payment payment, Long billId) {
+        return PaymentDTO.builder()
+                .id(payment.getId())
+                .billId(billId)
+                .amount(payment.getAmount())
+                .paymentMethod(payment.getPaymentMethod())
+                .notes(payment.getNotes())
+                .paidAt(payment.getPaidAt())
+                .build();
+    }
+
     private BillItemDTO mapItemToDTO(BillItem item) {
         return BillItemDTO.builder()
                 .id(item.getId())
@@ -0,0 +1,65 @@
+package com.caresync.service.impl;
+
+import com.caresync.dto.CacheStatsDTO;
+import com.caresync.exception.ResourceNotFoundException;
+import com.caresync.service.CacheService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheServiceImpl implements CacheService {
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public List<CacheStatsDTO> getCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(this::getCacheStats)
+                .toList();
+    }
+
+    @Override
+    public CacheStatsDTO getCacheStats(String name) {
+        CaffeineCache cache = getCache(name);
+        CacheStats stats = cache.getNativeCache().stats();
+        return CacheStatsDTO.builder()
+                .name(name)
+                .size(cache.getNativeCache().estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .loadCount(stats.loadCount())
+                .averageLoadMillis(stats.averageLoadPenalty() / 1_000_000.0)
+                .build();
+    }
+
+    @Override
+    public void clearCache(String name) {
+        getCache(name).clear();
+        log.info("Cache {} cleared", name);
+    }
+
+    @Override
+    public void clearAllCaches() {
+        cacheManager.getCacheNames().forEach(this::clearCache);
+    }
+
+    private CaffeineCache getCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            throw new ResourceNotFoundException("Cache", "name", name);
+        }
+        return caffeineCache;
+    }
+}
@@ -0,0 +1,97 @@
+package com.caresync.service.impl;
+
+import com.caresync.config.RequestSqlStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent dashboard sections concurrently on virtual threads.
+ * Each section gets its own read-only transaction (and connection); all sections
+ * share one deadline, so a dashboard takes as long as its slowest section and a
+ * section that misses the deadline is reported as unavailable instead of failing the page.
+ */
+@Component
+@Slf4j
+public class DashboardAssembler {
+
+    private final ExecutorService dashboardExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long sectionTimeoutMillis;
+
+    public DashboardAssembler(@Qualifier("dashboardExecutor") ExecutorService dashboardExecutor,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.dashboard.section-timeout-ms:3000}") long sectionTimeoutMillis) {
+        this.dashboardExecutor = dashboardExecutor;
+        this.sectionTimeoutMillis = sectionTimeoutMillis;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Also bounds the queries themselves, so an abandoned section releases its connection
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sectionTimeoutMillis)));
+    }
+
+    public Assembly start() {
+        return new Assembly(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMillis));
+    }
+
+    /**
+     * One dashboard build: submit sections, then await each before the shared deadline
+     */
+    public final class Assembly {
+
+        private final long deadlineNanos;
+        private final List<String> unavailableSections = new ArrayList<>();
+
+        private Assembly(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public <T> Section<T> section(String name, Supplier<T> loader) {
+            // Statements run on the section thread still count toward the request's SQL stats
+            Supplier<T> task = RequestSqlStats.propagate(() -> readOnlyTransaction.execute(status -> loader.get()));
+            Future<T> future = dashboardExecutor.submit(task::get);
+            return new Section<>(name, future);
+        }
+
+        /**
+         * Result of the section, or empty if it failed or missed the deadline
+         */
+        public <T> Optional<T> await(Section<T> section) {
+            long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+            try {
+                return Optional.ofNullable(section.future().get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException ex) {
+                section.future().cancel(true);
+                log.warn("Dashboard section '{}' timed out after {} ms", section.name(), sectionTimeoutMillis);
+            } catch (ExecutionException ex) {
+                log.warn("Dashboard section '{}' failed", section.name(), ex.getCause());
+            } catch (InterruptedException ex) {
+                section.future().cancel(true);
+                Thread.currentThread().interrupt();
+            }
+            unavailableSections.add(section.name());
+            return Optional.empty();
+        }
+
+        public List<String> getUnavailableSections() {
+            return Collections.unmodifiableList(unavailableSections);
+        }
+    }
+
+    public record Section<T>(String name, Future<T> future) {
+    }
+}
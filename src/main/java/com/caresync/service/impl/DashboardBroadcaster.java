@@ -0,0 +1,156 @@
+package com.caresync.service.impl;
+
+import com.caresync.dto.DashboardDTO;
+import com.caresync.event.AppointmentChangedEvent;
+import com.caresync.event.BillChangedEvent;
+import com.caresync.event.DoctorDeletedEvent;
+import com.caresync.event.PatientChangedEvent;
+import com.caresync.exception.ServiceBusyException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes admin dashboard figures to connected SSE clients. Committed changes only mark
+ * the figures dirty; a single scheduled tick reads the in-memory snapshot and sends the
+ * fields that changed to every client, so database load does not grow with open dashboards.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardBroadcaster {
+
+    private final DashboardSnapshot dashboardSnapshot;
+
+    private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile Map<String, Object> lastSent = Map.of();
+
+    @Value("${app.dashboard.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.dashboard.stream.max-clients:200}")
+    private int maxClients;
+
+    /**
+     * Register a client; it receives the current figures immediately, then "delta" events
+     */
+    public SseEmitter subscribe() {
+        if (emitters.size() >= maxClients) {
+            throw new ServiceBusyException("Too many open dashboard streams", 30);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(ex -> emitters.remove(emitter));
+        emitters.add(emitter);
+
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(figures(dashboardSnapshot.current())));
+        } catch (IOException ex) {
+            emitters.remove(emitter);
+            emitter.completeWithError(ex);
+        }
+        return emitter;
+    }
+
+    public int getClientCount() {
+        return emitters.size();
+    }
+
+    @TransactionalEventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener
+    public void onBillChanged(BillChangedEvent event) {
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener
+    public void onPatientChanged(PatientChangedEvent event) {
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener
+    public void onDoctorDeleted(DoctorDeletedEvent event) {
+        dirty.set(true);
+    }
+
+    /**
+     * Send what changed since the last push; bursts of writes coalesce into one event per tick
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.stream.push-interval-ms:1000}")
+    public void pushChanges() {
+        if (!dirty.getAndSet(false) || emitters.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> current = figures(dashboardSnapshot.current());
+        Map<String, Object> delta = new LinkedHashMap<>();
+        Map<String, Object> previous = lastSent;
+        current.forEach((key, value) -> {
+            if (!Objects.equals(previous.get(key), value)) {
+                delta.put(key, value);
+            }
+        });
+        lastSent = current;
+
+        if (!delta.isEmpty()) {
+            broadcast(SseEmitter.event().name("delta").data(delta));
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and drops clients that have gone away
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.stream.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        if (!emitters.isEmpty()) {
+            broadcast(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private void broadcast(SseEmitter.SseEventBuilder event) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Dropping dashboard stream client: {}", ex.getMessage());
+                emitters.remove(emitter);
+                emitter.completeWithError(ex);
+            }
+        }
+    }
+
+    // The live subset of the admin dashboard: today's activity, revenue and status distributions
+    private static Map<String, Object> figures(DashboardDTO dashboard) {
+        Map<String, Object> figures = new LinkedHashMap<>();
+        figures.put("totalPatients", dashboard.getTotalPatients());
+        figures.put("totalAppointments", dashboard.getTotalAppointments());
+        figures.put("todayAppointments", dashboard.getTodayAppointments());
+        figures.put("pendingBills", dashboard.getPendingBills());
+        figures.put("totalRevenue", dashboard.getTotalRevenue());
+        figures.put("todayRevenue", dashboard.getTodayRevenue());
+        figures.put("monthlyRevenue", dashboard.getMonthlyRevenue());
+        figures.put("outstandingAmount", dashboard.getOutstandingAmount());
+        figures.put("appointmentsByStatus", dashboard.getAppointmentsByStatus());
+        figures.put("billsByStatus", dashboard.getBillsByStatus());
+        figures.put("patientsByGender", dashboard.getPatientsByGender());
+        return figures;
+    }
+}
@@ -3,121 +3,101 @@ package com.caresync.service.impl;
 import com.caresync.dto.AppointmentDTO;
 import com.caresync.dto.BillDTO;
 import com.caresync.dto.DashboardDTO;
-import com.caresync.entity.AppointmentStatus;
-import com.caresync.entity.BillStatus;
-import com.caresync.repository.*;
+import com.caresync.repository.projection.BillSummaryView;
 import com.caresync.service.AppointmentService;
 import com.caresync.service.BillService;
 import com.caresync.service.DashboardService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.math.BigDecimal;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional(readOnly = true)
 public class DashboardServiceImpl implements DashboardService {
 
-    private final PatientRepository patientRepository;
-    private final DoctorRepository doctorRepository;
-    private final AppointmentRepository appointmentRepository;
-    private final BillRepository billRepository;
-    private final DepartmentRepository departmentRepository;
+    private final DashboardSnapshot dashboardSnapshot;
+    private final DashboardAssembler dashboardAssembler;
+    private final DashboardBroadcaster dashboardBroadcaster;
     private final AppointmentService appointmentService;
     private final BillService billService;
 
+    // Upper bound for the "recent" lists on doctor and patient dashboards
+    @Value("${app.dashboard.recent-limit:10}")
+    private int recentLimit;
+
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DashboardDTO getAdminDashboard() {
-        return DashboardDTO.builder()
-                // Counts
-                .totalPatients(patientRepository.countAllPatients())
-                .totalDoctors(doctorRepository.countAllDoctors())
-                .totalAppointments(appointmentRepository.count())
-                .todayAppointments(appointmentRepository.countTodaysAppointments())
-                .pendingBills(billRepository.countByStatus(BillStatus.PENDING) + 
-                             billRepository.countByStatus(BillStatus.PARTIAL))
-                .activeDepartments(departmentRepository.countActiveDepartments())
-                
-                // Revenue
-                .totalRevenue(billService.getTotalRevenue())
-                .todayRevenue(billService.getTodayRevenue())
-                .monthlyRevenue(billService.getMonthlyRevenue())
-                .outstandingAmount(billService.getOutstandingAmount())
-                
-                // Distributions
-                .appointmentsByStatus(getAppointmentStatusDistribution())
-                .billsByStatus(getBillStatusDistribution())
-                .patientsByGender(getPatientGenderDistribution())
-                .doctorsBySpecialization(getDoctorSpecializationDistribution())
-                
-                // Recent data
-                .todaysAppointments(appointmentService.getTodaysAppointments())
-                .pendingBillsList(billService.getPendingBills())
-                .build();
+        // Independent sections run concurrently, each in its own read-only transaction
+        DashboardAssembler.Assembly assembly = dashboardAssembler.start();
+        DashboardAssembler.Section<DashboardDTO> figuresSection =
+                assembly.section("figures", dashboardSnapshot::current);
+        DashboardAssembler.Section<List<AppointmentDTO>> todaysAppointmentsSection =
+                assembly.section("todaysAppointments", appointmentService::getTodaysAppointments);
+        DashboardAssembler.Section<List<BillDTO>> pendingBillsSection =
+                assembly.section("pendingBills", billService::getPendingBills);
+
+        // Counts, revenue and distributions come from the incrementally maintained snapshot
+        DashboardDTO dashboard = assembly.await(figuresSection).orElseGet(DashboardDTO::new);
+
+        // Recent data
+        assembly.await(todaysAppointmentsSection).ifPresent(dashboard::setTodaysAppointments);
+        assembly.await(pendingBillsSection).ifPresent(dashboard::setPendingBillsList);
+
+        dashboard.setUnavailableSections(assembly.getUnavailableSections());
+        return dashboard;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SseEmitter streamAdminDashboard() {
+        return dashboardBroadcaster.subscribe();
     }
 
     @Override
     public DashboardDTO getDoctorDashboard(Long doctorId) {
+        long start = System.nanoTime();
         List<AppointmentDTO> todaysAppointments = appointmentService.getTodaysAppointmentsByDoctor(doctorId);
-        
-        return DashboardDTO.builder()
+        List<AppointmentDTO> recentAppointments = appointmentService.getRecentAppointmentsByDoctor(doctorId, recentLimit);
+
+        DashboardDTO dashboard = DashboardDTO.builder()
                 .todayAppointments((long) todaysAppointments.size())
-                .totalAppointments((long) appointmentRepository.findByDoctorId(doctorId).size())
+                .totalAppointments(appointmentService.countByDoctor(doctorId))
                 .todaysAppointments(todaysAppointments)
+                .recentAppointments(recentAppointments)
                 .build();
+
+        log.debug("Doctor dashboard {} built in {} ms ({} today, {} recent appointments)", doctorId,
+                (System.nanoTime() - start) / 1_000_000, todaysAppointments.size(), recentAppointments.size());
+        return dashboard;
     }
 
     @Override
     public DashboardDTO getPatientDashboard(Long patientId) {
-        List<BillDTO> pendingBills = billService.getPendingBillsByPatient(patientId);
-        BigDecimal outstanding = pendingBills.stream()
-                .map(BillDTO::getBalanceDue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        return DashboardDTO.builder()
-                .totalAppointments((long) appointmentRepository.findByPatientId(patientId).size())
-                .pendingBills((long) pendingBills.size())
-                .outstandingAmount(outstanding)
+        long start = System.nanoTime();
+        List<AppointmentDTO> recentAppointments = appointmentService.getRecentAppointmentsByPatient(patientId, recentLimit);
+        List<BillDTO> pendingBills = billService.getPendingBillsByPatient(patientId, recentLimit);
+        BillSummaryView billSummary = billService.getPendingBillSummaryByPatient(patientId);
+
+        DashboardDTO dashboard = DashboardDTO.builder()
+                .totalAppointments(appointmentService.countByPatient(patientId))
+                .pendingBills(billSummary.getPendingBills())
+                .outstandingAmount(billSummary.getOutstandingAmount())
+                .recentAppointments(recentAppointments)
                 .pendingBillsList(pendingBills)
                 .build();
-    }
-
-    // Helper methods for distributions
-    private Map<String, Long> getAppointmentStatusDistribution() {
-        Map<String, Long> distribution = new HashMap<>();
-        for (AppointmentStatus status : AppointmentStatus.values()) {
-            distribution.put(status.name(), appointmentRepository.countByStatus(status));
-        }
-        return distribution;
-    }
-
-    private Map<String, Long> getBillStatusDistribution() {
-        Map<String, Long> distribution = new HashMap<>();
-        for (BillStatus status : BillStatus.values()) {
-            distribution.put(status.name(), billRepository.countByStatus(status));
-        }
-        return distribution;
-    }
-
-    private Map<String, Long> getPatientGenderDistribution() {
-        Map<String, Long> distribution = new HashMap<>();
-        patientRepository.countByGender().forEach(result -> {
-            distribution.put(result[0].toString(), (Long) result[1]);
-        });
-        return distribution;
-    }
 
-    private Map<String, Long> getDoctorSpecializationDistribution() {
-        Map<String, Long> distribution = new HashMap<>();
-        doctorRepository.countBySpecialization().forEach(result -> {
-            distribution.put((String) result[0], (Long) result[1]);
-        });
-        return distribution;
+        log.debug("Patient dashboard {} built in {} ms ({} recent appointments, {} of {} pending bills)", patientId,
+                (System.nanoTime() - start) / 1_000_000, recentAppointments.size(),
+                pendingBills.size(), billSummary.getPendingBills());
+        return dashboard;
     }
 }
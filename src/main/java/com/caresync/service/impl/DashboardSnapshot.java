@@ -0,0 +1,299 @@
+package com.caresync.service.impl;
+
+import com.caresync.dto.DashboardDTO;
+import com.caresync.entity.AppointmentStatus;
+import com.caresync.entity.BillStatus;
+import com.caresync.entity.Gender;
+import com.caresync.event.AppointmentChangedEvent;
+import com.caresync.event.BillChangedEvent;
+import com.caresync.event.DoctorDeletedEvent;
+import com.caresync.event.PatientChangedEvent;
+import com.caresync.repository.DashboardRepository;
+import com.caresync.repository.projection.DashboardTotalsView;
+import com.caresync.repository.projection.DistributionBucketView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory admin dashboard figures, loaded once and then maintained incrementally
+ * from committed appointment, bill and patient changes, so reading the dashboard is O(1).
+ * Patient and doctor deletes, which cascade to appointments, reload the figures; a periodic
+ * reconciliation corrects any other drift, and the snapshot also reloads when the day rolls over.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardSnapshot {
+
+    private final DashboardRepository dashboardRepository;
+
+    private volatile Figures figures;
+
+    /**
+     * Current figures as a dashboard DTO; loads from the database on first use or a new day
+     */
+    public DashboardDTO current() {
+        Figures current = figures;
+        if (current == null || !current.day.equals(LocalDate.now())) {
+            current = reload();
+        }
+        return current.toDTO();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Recompute from the database and log any drift from the incrementally maintained values
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.snapshot.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.dashboard.snapshot.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Figures before = figures;
+        Figures after = reload();
+        if (before != null && before.day.equals(after.day) && before.drifted(after)) {
+            log.info("Dashboard snapshot drift corrected: appointments {} -> {}, patients {} -> {}, revenue {} -> {}",
+                    before.totalAppointments.get(), after.totalAppointments.get(),
+                    before.totalPatients.get(), after.totalPatients.get(),
+                    before.totalRevenue.get(), after.totalRevenue.get());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        Figures current = figures;
+        if (current == null) return;
+        if (event.before() != null) {
+            current.applyAppointment(event.before(), -1);
+        }
+        if (event.after() != null) {
+            current.applyAppointment(event.after(), 1);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBillChanged(BillChangedEvent event) {
+        Figures current = figures;
+        if (current == null) return;
+        if (event.after() == null && event.before().paidAmount().signum() > 0) {
+            // Its ledger rows may span several days; recount rather than guess
+            reload();
+            return;
+        }
+        if (event.before() != null) {
+            current.applyBill(event.before(), -1);
+        }
+        if (event.after() != null) {
+            current.applyBill(event.after(), 1);
+            current.applyPayment(event.before(), event.after());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPatientChanged(PatientChangedEvent event) {
+        Figures current = figures;
+        if (current == null) return;
+        switch (event.change()) {
+            // Deleting a patient cascades to appointments and bills without their own events
+            case DELETED -> reload();
+            case CREATED -> {
+                current.totalPatients.incrementAndGet();
+                current.adjust(current.patientsByGender, genderKey(event.after()), 1);
+            }
+            case UPDATED -> {
+                current.adjust(current.patientsByGender, genderKey(event.before()), -1);
+                current.adjust(current.patientsByGender, genderKey(event.after()), 1);
+            }
+        }
+    }
+
+    private static String genderKey(Gender gender) {
+        return gender != null ? gender.name() : null;
+    }
+
+    // The doctor's appointments cascade away without their own events; recount them
+    @TransactionalEventListener
+    public void onDoctorDeleted(DoctorDeletedEvent event) {
+        if (figures != null) {
+            reload();
+        }
+    }
+
+    private synchronized Figures reload() {
+        LocalDate today = LocalDate.now();
+        LocalDate firstOfMonth = today.withDayOfMonth(1);
+
+        DashboardTotalsView totals = dashboardRepository.getTotals(
+                today.atStartOfDay(), today.plusDays(1).atStartOfDay(),
+                firstOfMonth.atStartOfDay(), firstOfMonth.plusMonths(1).atStartOfDay());
+
+        Figures loaded = new Figures(today);
+        loaded.totalPatients.set(totals.getTotalPatients());
+        loaded.totalDoctors.set(totals.getTotalDoctors());
+        loaded.activeDepartments.set(totals.getActiveDepartments());
+        loaded.totalAppointments.set(totals.getTotalAppointments());
+        loaded.todayAppointments.set(totals.getTodayAppointments());
+        loaded.totalRevenue.set(totals.getTotalRevenue());
+        loaded.todayRevenue.set(totals.getTodayRevenue());
+        loaded.monthlyRevenue.set(totals.getMonthlyRevenue());
+        loaded.outstandingAmount.set(totals.getOutstandingAmount());
+
+        // Statuses without rows are reported as zero
+        for (AppointmentStatus status : AppointmentStatus.values()) {
+            loaded.appointmentsByStatus.put(status.name(), new AtomicLong());
+        }
+        for (BillStatus status : BillStatus.values()) {
+            loaded.billsByStatus.put(status.name(), new AtomicLong());
+        }
+        for (DistributionBucketView bucket : dashboardRepository.getDistributions()) {
+            Map<String, AtomicLong> distribution = switch (bucket.getDimension()) {
+                case DashboardRepository.DIMENSION_APPOINTMENT -> loaded.appointmentsByStatus;
+                case DashboardRepository.DIMENSION_BILL -> loaded.billsByStatus;
+                case DashboardRepository.DIMENSION_GENDER -> loaded.patientsByGender;
+                default -> loaded.doctorsBySpecialization;
+            };
+            if (bucket.getBucket() != null) {
+                distribution.put(bucket.getBucket(), new AtomicLong(bucket.getTotal()));
+            }
+        }
+
+        figures = loaded;
+        return loaded;
+    }
+
+    /**
+     * Counters for one calendar day; "today" and "this month" figures are relative to {@code day}
+     */
+    private static final class Figures {
+
+        private final LocalDate day;
+        private final LocalDateTime dayStart;
+        private final LocalDateTime dayEnd;
+        private final LocalDateTime monthStart;
+        private final LocalDateTime monthEnd;
+
+        private final AtomicLong totalPatients = new AtomicLong();
+        private final AtomicLong totalDoctors = new AtomicLong();
+        private final AtomicLong activeDepartments = new AtomicLong();
+        private final AtomicLong totalAppointments = new AtomicLong();
+        private final AtomicLong todayAppointments = new AtomicLong();
+
+        private final AtomicReference<BigDecimal> totalRevenue = new AtomicReference<>(BigDecimal.ZERO);
+        private final AtomicReference<BigDecimal> todayRevenue = new AtomicReference<>(BigDecimal.ZERO);
+        private final AtomicReference<BigDecimal> monthlyRevenue = new AtomicReference<>(BigDecimal.ZERO);
+        private final AtomicReference<BigDecimal> outstandingAmount = new AtomicReference<>(BigDecimal.ZERO);
+
+        private final Map<String, AtomicLong> appointmentsByStatus = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> billsByStatus = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> patientsByGender = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> doctorsBySpecialization = new ConcurrentHashMap<>();
+
+        private Figures(LocalDate day) {
+            this.day = day;
+            this.dayStart = day.atStartOfDay();
+            this.dayEnd = day.plusDays(1).atStartOfDay();
+            this.monthStart = day.withDayOfMonth(1).atStartOfDay();
+            this.monthEnd = day.withDayOfMonth(1).plusMonths(1).atStartOfDay();
+        }
+
+        private void applyAppointment(AppointmentChangedEvent.State state, int sign) {
+            totalAppointments.addAndGet(sign);
+            if (day.equals(state.date())) {
+                todayAppointments.addAndGet(sign);
+            }
+            adjust(appointmentsByStatus, String.valueOf(state.status()), sign);
+        }
+
+        private void applyBill(BillChangedEvent.State state, int sign) {
+            adjust(billsByStatus, String.valueOf(state.status()), sign);
+
+            BigDecimal paid = signed(state.paidAmount(), sign);
+            BigDecimal balance = signed(state.finalAmount(), sign).subtract(paid);
+            totalRevenue.accumulateAndGet(paid, BigDecimal::add);
+            outstandingAmount.accumulateAndGet(balance, BigDecimal::add);
+        }
+
+        // Mirrors the payments ledger: only the newly received amount counts, on the day it was received
+        private void applyPayment(BillChangedEvent.State before, BillChangedEvent.State after) {
+            BigDecimal received = signed(after.paidAmount(), 1)
+                    .subtract(before != null ? signed(before.paidAmount(), 1) : BigDecimal.ZERO);
+            LocalDateTime paymentDate = after.paymentDate();
+            if (received.signum() == 0 || paymentDate == null) {
+                return;
+            }
+            if (!paymentDate.isBefore(dayStart) && paymentDate.isBefore(dayEnd)) {
+                todayRevenue.accumulateAndGet(received, BigDecimal::add);
+            }
+            if (!paymentDate.isBefore(monthStart) && paymentDate.isBefore(monthEnd)) {
+                monthlyRevenue.accumulateAndGet(received, BigDecimal::add);
+            }
+        }
+
+        private void adjust(Map<String, AtomicLong> distribution, String key, int delta) {
+            if (key == null) return;
+            distribution.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+        }
+
+        private static BigDecimal signed(BigDecimal amount, int sign) {
+            BigDecimal value = amount != null ? amount : BigDecimal.ZERO;
+            return sign < 0 ? value.negate() : value;
+        }
+
+        private boolean drifted(Figures other) {
+            return totalPatients.get() != other.totalPatients.get()
+                    || totalDoctors.get() != other.totalDoctors.get()
+                    || totalAppointments.get() != other.totalAppointments.get()
+                    || todayAppointments.get() != other.todayAppointments.get()
+                    || totalRevenue.get().compareTo(other.totalRevenue.get()) != 0
+                    || outstandingAmount.get().compareTo(other.outstandingAmount.get()) != 0;
+        }
+
+        private DashboardDTO toDTO() {
+            Map<String, Long> bills = toMap(billsByStatus);
+            return DashboardDTO.builder()
+                    // Counts
+                    .totalPatients(totalPatients.get())
+                    .totalDoctors(totalDoctors.get())
+                    .totalAppointments(totalAppointments.get())
+                    .todayAppointments(todayAppointments.get())
+                    .pendingBills(bills.getOrDefault(BillStatus.PENDING.name(), 0L) +
+                                 bills.getOrDefault(BillStatus.PARTIAL.name(), 0L))
+                    .activeDepartments(activeDepartments.get())
+
+                    // Revenue
+                    .totalRevenue(totalRevenue.get())
+                    .todayRevenue(todayRevenue.get())
+                    .monthlyRevenue(monthlyRevenue.get())
+                    .outstandingAmount(outstandingAmount.get())
+
+                    // Distributions
+                    .appointmentsByStatus(toMap(appointmentsByStatus))
+                    .billsByStatus(bills)
+                    .patientsByGender(toMap(patientsByGender))
+                    .doctorsBySpecialization(toMap(doctorsBySpecialization))
+                    .build();
+        }
+
+        private static Map<String, Long> toMap(Map<String, AtomicLong> counters) {
+            Map<String, Long> values = new HashMap<>();
+            counters.forEach((key, counter) -> values.put(key, counter.get()));
+            return values;
+        }
+    }
+}
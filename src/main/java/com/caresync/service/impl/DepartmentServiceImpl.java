@@ -1,12 +1,15 @@
 package com.caresync.service.impl;
 
+import com.caresync.config.CacheConfig;
 import com.caresync.dto.DepartmentDTO;
 import com.caresync.entity.Department;
 import com.caresync.exception.DuplicateResourceException;
 import com.caresync.exception.ResourceNotFoundException;
 import com.caresync.repository.DepartmentRepository;
+import com.caresync.repository.projection.DepartmentDoctorCountView;
 import com.caresync.service.DepartmentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,29 +22,33 @@ import java.util.stream.Collectors;
 public class DepartmentServiceImpl implements DepartmentService {
 
     private final DepartmentRepository departmentRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENTS, key = "'" + ReferenceDataCache.ALL_DEPARTMENTS + "'")
     public List<DepartmentDTO> getAllDepartments() {
-        return departmentRepository.findAll().stream()
+        return departmentRepository.findAllWithDoctorCount().stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENTS, key = "'" + ReferenceDataCache.ACTIVE_DEPARTMENTS + "'")
     public List<DepartmentDTO> getActiveDepartments() {
-        return departmentRepository.findByIsActiveTrue().stream()
+        return departmentRepository.findActiveWithDoctorCount().stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENTS, key = "#id")
     public DepartmentDTO getDepartmentById(Long id) {
-        Department department = departmentRepository.findById(id)
+        return departmentRepository.findByIdWithDoctorCount(id)
+                .map(this::mapToDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Department", "id", id));
-        return mapToDTO(department);
     }
 
     @Override
@@ -59,7 +66,8 @@ public class DepartmentServiceImpl implements DepartmentService {
                 .build();
 
         Department saved = departmentRepository.save(department);
-        return mapToDTO(saved);
+        referenceDataCache.evictDepartment(saved.getId());
+        return mapToDTO(saved, 0);
     }
 
     @Override
@@ -75,6 +83,11 @@ public class DepartmentServiceImpl implements DepartmentService {
                     }
                 });
 
+        // Doctor directory entries carry the department name
+        if (!department.getName().equals(dto.getName())) {
+            referenceDataCache.clear(CacheConfig.DOCTOR_DIRECTORY);
+        }
+
         department.setName(dto.getName());
         department.setDescription(dto.getDescription());
         department.setFloorNumber(dto.getFloorNumber());
@@ -84,7 +97,8 @@ public class DepartmentServiceImpl implements DepartmentService {
         }
 
         Department updated = departmentRepository.save(department);
-        return mapToDTO(updated);
+        referenceDataCache.evictDepartment(id);
+        return mapToDTO(updated, departmentRepository.countDoctors(id));
     }
 
     @Override
@@ -92,6 +106,9 @@ public class DepartmentServiceImpl implements DepartmentService {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department", "id", id));
         departmentRepository.delete(department);
+        referenceDataCache.evictDepartment(id);
+        // Its doctors lose their department
+        referenceDataCache.clear(CacheConfig.DOCTOR_DIRECTORY);
     }
 
     @Override
@@ -100,6 +117,7 @@ public class DepartmentServiceImpl implements DepartmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Department", "id", id));
         department.setIsActive(!department.getIsActive());
         departmentRepository.save(department);
+        referenceDataCache.evictDepartment(id);
     }
 
     @Override
@@ -108,8 +126,12 @@ public class DepartmentServiceImpl implements DepartmentService {
         return departmentRepository.count();
     }
 
-    // Mapper method
-    private DepartmentDTO mapToDTO(Department department) {
+    // Mapper methods
+    private DepartmentDTO mapToDTO(DepartmentDoctorCountView view) {
+        return mapToDTO(view.getDepartment(), view.getDoctorCount());
+    }
+
+    private DepartmentDTO mapToDTO(Department department, long doctorCount) {
         return DepartmentDTO.builder()
                 .id(department.getId())
                 .name(department.getName())
@@ -118,7 +140,7 @@ public class DepartmentServiceImpl implements DepartmentService {
                 .phone(department.getPhone())
                 .isActive(department.getIsActive())
                 .createdAt(department.getCreatedAt())
-                .doctorCount(department.getDoctors() != null ? department.getDoctors().size() : 0)
+                .doctorCount((int) doctorCount)
                 .build();
     }
 }
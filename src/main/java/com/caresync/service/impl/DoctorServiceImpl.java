@@ -1,11 +1,13 @@
 package com.caresync.service.impl;
 
+import com.caresync.config.CacheConfig;
 import com.caresync.dto.DoctorDTO;
 import com.caresync.dto.DoctorScheduleDTO;
 import com.caresync.dto.PagedResponse;
 import com.caresync.entity.Department;
 import com.caresync.entity.Doctor;
 import com.caresync.entity.DoctorSchedule;
+import com.caresync.event.DoctorDeletedEvent;
 import com.caresync.exception.BadRequestException;
 import com.caresync.exception.DuplicateResourceException;
 import com.caresync.exception.ResourceNotFoundException;
@@ -13,7 +15,10 @@ import com.caresync.repository.DepartmentRepository;
 import com.caresync.repository.DoctorRepository;
 import com.caresync.repository.DoctorScheduleRepository;
 import com.caresync.service.DoctorService;
+import com.caresync.service.impl.ReferenceDataCache.DirectoryEntry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -30,6 +35,9 @@ public class DoctorServiceImpl implements DoctorService {
     private final DoctorRepository doctorRepository;
     private final DepartmentRepository departmentRepository;
     private final DoctorScheduleRepository scheduleRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -88,6 +96,7 @@ public class DoctorServiceImpl implements DoctorService {
         }
 
         Doctor saved = doctorRepository.save(doctor);
+        referenceDataCache.evictDoctor(DirectoryEntry.of(saved));
         return mapToDTO(saved);
     }
 
@@ -95,6 +104,7 @@ public class DoctorServiceImpl implements DoctorService {
     public DoctorDTO updateDoctor(Long id, DoctorDTO dto) {
         Doctor doctor = doctorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor", "id", id));
+        DirectoryEntry before = DirectoryEntry.of(doctor);
 
         // Check for duplicate license (excluding current)
         doctorRepository.findByLicenseNumber(dto.getLicenseNumber())
@@ -125,6 +135,7 @@ public class DoctorServiceImpl implements DoctorService {
         }
 
         Doctor updated = doctorRepository.save(doctor);
+        referenceDataCache.evictDoctor(before, DirectoryEntry.of(updated));
         return mapToDTO(updated);
     }
 
@@ -132,11 +143,18 @@ public class DoctorServiceImpl implements DoctorService {
     public void deleteDoctor(Long id) {
         Doctor doctor = doctorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor", "id", id));
+        DirectoryEntry before = DirectoryEntry.of(doctor);
         doctorRepository.delete(doctor);
+        referenceDataCache.evictDoctor(before);
+        referenceDataCache.evictSchedules(id);
+        slotAvailabilityIndex.invalidate(id);
+        eventPublisher.publishEvent(new DoctorDeletedEvent(id));
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DOCTOR_DIRECTORY,
+               key = "T(com.caresync.service.impl.ReferenceDataCache).departmentKey(#departmentId)")
     public List<DoctorDTO> getDoctorsByDepartment(Long departmentId) {
         return doctorRepository.findByDepartmentId(departmentId).stream()
                 .map(this::mapToDTO)
@@ -145,6 +163,7 @@ public class DoctorServiceImpl implements DoctorService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DOCTOR_DIRECTORY, key = "'" + ReferenceDataCache.AVAILABLE_DOCTORS + "'")
     public List<DoctorDTO> getAvailableDoctors() {
         return doctorRepository.findByIsAvailableTrue().stream()
                 .map(this::mapToDTO)
@@ -153,6 +172,8 @@ public class DoctorServiceImpl implements DoctorService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DOCTOR_DIRECTORY,
+               key = "T(com.caresync.service.impl.ReferenceDataCache).specializationKey(#specialization)")
     public List<DoctorDTO> getDoctorsBySpecialization(String specialization) {
         return doctorRepository.findBySpecialization(specialization).stream()
                 .map(this::mapToDTO)
@@ -162,6 +183,7 @@ public class DoctorServiceImpl implements DoctorService {
     // Schedule operations
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DOCTOR_SCHEDULES, key = "#doctorId")
     public List<DoctorScheduleDTO> getDoctorSchedules(Long doctorId) {
         if (!doctorRepository.existsById(doctorId)) {
             throw new ResourceNotFoundException("Doctor", "id", doctorId);
@@ -196,6 +218,7 @@ public class DoctorServiceImpl implements DoctorService {
                 .build();
 
         DoctorSchedule saved = scheduleRepository.save(schedule);
+        evictSchedules(doctor);
         return mapScheduleToDTO(saved);
     }
 
@@ -225,6 +248,7 @@ public class DoctorServiceImpl implements DoctorService {
         }
 
         DoctorSchedule updated = scheduleRepository.save(schedule);
+        evictSchedules(schedule.getDoctor());
         return mapScheduleToDTO(updated);
     }
 
@@ -242,14 +266,17 @@ public class DoctorServiceImpl implements DoctorService {
         }
 
         scheduleRepository.delete(schedule);
+        evictSchedules(schedule.getDoctor());
     }
 
     @Override
     public void toggleDoctorAvailability(Long id) {
         Doctor doctor = doctorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor", "id", id));
+        DirectoryEntry before = DirectoryEntry.of(doctor);
         doctor.setIsAvailable(!doctor.getIsAvailable());
         doctorRepository.save(doctor);
+        referenceDataCache.evictDoctor(before, DirectoryEntry.of(doctor));
     }
 
     @Override
@@ -265,6 +292,13 @@ public class DoctorServiceImpl implements DoctorService {
     }
 
     // Helper methods
+    // Directory entries embed the doctor's schedules, and the slot index is built from them
+    private void evictSchedules(Doctor doctor) {
+        referenceDataCache.evictSchedules(doctor.getId());
+        referenceDataCache.evictDoctor(DirectoryEntry.of(doctor));
+        slotAvailabilityIndex.invalidate(doctor.getId());
+    }
+
     private PagedResponse<DoctorDTO> buildPagedResponse(Page<Doctor> page) {
         List<DoctorDTO> content = page.getContent().stream()
                 .map(this::mapToDTO)
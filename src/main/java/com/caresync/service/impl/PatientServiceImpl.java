@@ -2,11 +2,14 @@ package com.caresync.service.impl;
 
 import com.caresync.dto.PagedResponse;
 import com.caresync.dto.PatientDTO;
+import com.caresync.entity.Gender;
 import com.caresync.entity.Patient;
+import com.caresync.event.PatientChangedEvent;
 import com.caresync.exception.ResourceNotFoundException;
 import com.caresync.repository.PatientRepository;
 import com.caresync.service.PatientService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,6 +26,7 @@ import java.util.stream.Collectors;
 public class PatientServiceImpl implements PatientService {
 
     private final PatientRepository patientRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -75,6 +79,7 @@ public class PatientServiceImpl implements PatientService {
                 .build();
 
         Patient saved = patientRepository.save(patient);
+        eventPublisher.publishEvent(new PatientChangedEvent(saved.getId(), PatientChangedEvent.Change.CREATED, null, saved.getGender()));
         return mapToDTO(saved);
     }
 
@@ -82,6 +87,7 @@ public class PatientServiceImpl implements PatientService {
     public PatientDTO updatePatient(Long id, PatientDTO dto) {
         Patient patient = patientRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", id));
+        Gender genderBefore = patient.getGender();
 
         patient.setFirstName(dto.getFirstName());
         patient.setLastName(dto.getLastName());
@@ -100,6 +106,7 @@ public class PatientServiceImpl implements PatientService {
         patient.setAllergies(dto.getAllergies());
 
         Patient updated = patientRepository.save(patient);
+        eventPublisher.publishEvent(new PatientChangedEvent(id, PatientChangedEvent.Change.UPDATED, genderBefore, updated.getGender()));
         return mapToDTO(updated);
     }
 
@@ -108,6 +115,7 @@ public class PatientServiceImpl implements PatientService {
         Patient patient = patientRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", id));
         patientRepository.delete(patient);
+        eventPublisher.publishEvent(new PatientChangedEvent(id, PatientChangedEvent.Change.DELETED, patient.getGender(), null));
     }
 
     @Override
@@ -0,0 +1,125 @@
+package com.caresync.service.impl;
+
+import com.caresync.config.CacheConfig;
+import com.caresync.entity.Doctor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Cache keys for reference data and targeted eviction on writes.
+ * Evictions run immediately and again after commit, so a concurrent read cannot
+ * re-cache the pre-commit state.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCache {
+
+    // departments region: these two lists, plus one entry per department id
+    public static final String ALL_DEPARTMENTS = "all";
+    public static final String ACTIVE_DEPARTMENTS = "active";
+
+    // doctorDirectory region
+    public static final String AVAILABLE_DOCTORS = "available";
+
+    private final CacheManager cacheManager;
+
+    public static String specializationKey(String specialization) {
+        return "specialization:" + specialization;
+    }
+
+    public static String departmentKey(Long departmentId) {
+        return "department:" + departmentId;
+    }
+
+    /**
+     * Evict the department lists and, when given, the department itself
+     */
+    public void evictDepartment(Long departmentId) {
+        Set<Object> keys = new LinkedHashSet<>();
+        keys.add(ALL_DEPARTMENTS);
+        keys.add(ACTIVE_DEPARTMENTS);
+        if (departmentId != null) {
+            keys.add(departmentId);
+        }
+        evict(CacheConfig.DEPARTMENTS, keys);
+    }
+
+    /**
+     * Evict every directory list and department entry a doctor appears in, for each given
+     * state (e.g. before and after an update)
+     */
+    public void evictDoctor(DirectoryEntry... states) {
+        Set<Object> directoryKeys = new LinkedHashSet<>();
+        for (DirectoryEntry state : states) {
+            if (state == null) continue;
+            if (state.available()) {
+                directoryKeys.add(AVAILABLE_DOCTORS);
+            }
+            if (state.specialization() != null) {
+                directoryKeys.add(specializationKey(state.specialization()));
+            }
+            if (state.departmentId() != null) {
+                directoryKeys.add(departmentKey(state.departmentId()));
+                // Department entries carry the doctor count
+                evictDepartment(state.departmentId());
+            }
+        }
+        evict(CacheConfig.DOCTOR_DIRECTORY, directoryKeys);
+    }
+
+    public void evictSchedules(Long doctorId) {
+        evict(CacheConfig.DOCTOR_SCHEDULES, Set.of(doctorId));
+    }
+
+    /**
+     * Drop a whole region, for changes whose affected keys cannot be derived cheaply
+     */
+    public void clear(String region) {
+        Cache cache = cacheManager.getCache(region);
+        if (cache == null) return;
+        cache.clear();
+        afterCommit(cache::clear);
+    }
+
+    private void evict(String region, Set<Object> keys) {
+        Cache cache = cacheManager.getCache(region);
+        if (cache == null || keys.isEmpty()) return;
+        Runnable eviction = () -> keys.forEach(cache::evict);
+        eviction.run();
+        afterCommit(eviction);
+        log.debug("Evicted {} from cache {}", keys, region);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * The fields of a doctor that decide which directory lists it is cached in
+     */
+    public record DirectoryEntry(Long departmentId, String specialization, boolean available) {
+
+        public static DirectoryEntry of(Doctor doctor) {
+            return new DirectoryEntry(
+                    doctor.getDepartment() != null ? doctor.getDepartment().getId() : null,
+                    doctor.getSpecialization(),
+                    Boolean.TRUE.equals(doctor.getIsAvailable()));
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.caresync.service.impl;
+
+import com.caresync.entity.AppointmentStatus;
+import com.caresync.entity.DayOfWeek;
+import com.caresync.entity.DoctorSchedule;
+import com.caresync.event.AppointmentChangedEvent;
+import com.caresync.event.PatientChangedEvent;
+import com.caresync.exception.ResourceNotFoundException;
+import com.caresync.repository.AppointmentRepository;
+import com.caresync.repository.DoctorRepository;
+import com.caresync.repository.DoctorScheduleRepository;
+import com.caresync.repository.projection.BookedSlotView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory slot availability: per doctor, the weekly slot grid from DoctorSchedule and one
+ * booked-slot bitset per date over a rolling horizon. A doctor is loaded on first lookup
+ * (schedules plus booked times) and then kept current by committed appointment changes;
+ * schedule changes and patient deletes (whose appointments cascade without events) drop
+ * entries instead. Dates outside the horizon are computed from the database on each call.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlotAvailabilityIndex {
+
+    private final DoctorRepository doctorRepository;
+    private final DoctorScheduleRepository scheduleRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    private final Map<Long, DoctorSlots> doctors = new ConcurrentHashMap<>();
+
+    // Bumped on every change, so a load that raced with a commit is used once but not cached
+    private final AtomicLong modifications = new AtomicLong();
+
+    @Value("${app.slots.horizon-days:60}")
+    private int horizonDays;
+
+    /**
+     * Free slot start times for the doctor on the date; past slots are omitted for today
+     */
+    public List<LocalTime> getAvailableSlots(Long doctorId, LocalDate date) {
+        LocalDate today = LocalDate.now();
+        LocalDate horizonEnd = today.plusDays(horizonDays);
+        DoctorSlots slots = date.isBefore(today) || date.isAfter(horizonEnd)
+                ? load(doctorId, date, date)
+                : indexed(doctorId, today, horizonEnd);
+        return slots.available(date, today, LocalTime.now());
+    }
+
+    @TransactionalEventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        mark(event.before(), false);
+        mark(event.after(), true);
+    }
+
+    @TransactionalEventListener
+    public void onPatientChanged(PatientChangedEvent event) {
+        if (event.change() == PatientChangedEvent.Change.DELETED) {
+            modifications.incrementAndGet();
+            doctors.clear();
+        }
+    }
+
+    /**
+     * Drop a doctor after a schedule change or delete, now and again after commit
+     */
+    public void invalidate(Long doctorId) {
+        Runnable invalidation = () -> doctors.compute(doctorId, (id, slots) -> {
+            modifications.incrementAndGet();
+            return null;
+        });
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private DoctorSlots indexed(Long doctorId, LocalDate today, LocalDate horizonEnd) {
+        DoctorSlots cached = doctors.get(doctorId);
+        if (cached != null && !cached.to.isBefore(horizonEnd)) {
+            return cached;
+        }
+
+        long version = modifications.get();
+        DoctorSlots loaded = load(doctorId, today, horizonEnd);
+        if (loaded.consistent) {
+            doctors.compute(doctorId, (id, existing) -> modifications.get() == version ? loaded : existing);
+        }
+        return loaded;
+    }
+
+    private DoctorSlots load(Long doctorId, LocalDate from, LocalDate to) {
+        List<DoctorSchedule> schedules = scheduleRepository.findByDoctorId(doctorId);
+        // Schedules imply the doctor exists; only an empty result needs the extra check
+        if (schedules.isEmpty() && !doctorRepository.existsById(doctorId)) {
+            throw new ResourceNotFoundException("Doctor", "id", doctorId);
+        }
+        return DoctorSlots.build(from, to, schedules, appointmentRepository.findBookedSlotsByDoctor(doctorId, from, to));
+    }
+
+    private void mark(AppointmentChangedEvent.State state, boolean booked) {
+        if (state == null || state.status() == AppointmentStatus.CANCELLED) {
+            return;
+        }
+        // Serialized with loads of the same doctor, which check the modification count
+        doctors.compute(state.doctorId(), (id, slots) -> {
+            modifications.incrementAndGet();
+            if (slots == null || slots.mark(state.date(), state.time(), booked)) {
+                return slots;
+            }
+            log.debug("Slot index out of step for doctor {} on {}; reloading on next lookup", id, state.date());
+            return null;
+        });
+    }
+
+    /**
+     * Slot starts of one schedule day: start + i * slotMinutes for i < slotCount
+     */
+    record SlotGrid(LocalTime start, int slotMinutes, int slotCount) {
+
+        static SlotGrid of(DoctorSchedule schedule) {
+            int slotMinutes = schedule.getSlotDurationMinutes() != null ? schedule.getSlotDurationMinutes() : 0;
+            if (!Boolean.TRUE.equals(schedule.getIsAvailable()) || slotMinutes <= 0) {
+                return null;
+            }
+            int minutes = (schedule.getEndTime().toSecondOfDay() - schedule.getStartTime().toSecondOfDay()) / 60;
+            int slotCount = minutes > 0 ? (minutes + slotMinutes - 1) / slotMinutes : 0;
+            return new SlotGrid(schedule.getStartTime(), slotMinutes, slotCount);
+        }
+
+        /**
+         * Index of the slot starting exactly at the time, or -1 when it is off the grid
+         */
+        int indexOf(LocalTime time) {
+            long offset = time.toNanoOfDay() - start.toNanoOfDay();
+            long step = slotMinutes * 60_000_000_000L;
+            if (offset < 0 || offset % step != 0) {
+                return -1;
+            }
+            long index = offset / step;
+            return index < slotCount ? (int) index : -1;
+        }
+
+        LocalTime timeAt(int index) {
+            return start.plusMinutes((long) index * slotMinutes);
+        }
+    }
+
+    /**
+     * One doctor's weekly grid and booked bitsets for dates in [from, to].
+     * Bitsets are copied on write, so readers never see a partial update.
+     */
+    static final class DoctorSlots {
+
+        final LocalDate from;
+        final LocalDate to;
+        private final Map<DayOfWeek, SlotGrid> weekly;
+        private final Map<LocalDate, long[]> booked = new ConcurrentHashMap<>();
+        // False when the database holds two bookings for one slot, which one bit cannot track
+        private boolean consistent = true;
+
+        private DoctorSlots(LocalDate from, LocalDate to, Map<DayOfWeek, SlotGrid> weekly) {
+            this.from = from;
+            this.to = to;
+            this.weekly = weekly;
+        }
+
+        static DoctorSlots build(LocalDate from, LocalDate to, Collection<DoctorSchedule> schedules,
+                                 Collection<BookedSlotView> bookings) {
+            Map<DayOfWeek, SlotGrid> weekly = new EnumMap<>(DayOfWeek.class);
+            for (DoctorSchedule schedule : schedules) {
+                SlotGrid grid = SlotGrid.of(schedule);
+                if (grid != null) {
+                    weekly.put(schedule.getDayOfWeek(), grid);
+                }
+            }
+            DoctorSlots slots = new DoctorSlots(from, to, weekly);
+            for (BookedSlotView booking : bookings) {
+                if (!slots.mark(booking.getAppointmentDate(), booking.getAppointmentTime(), true)) {
+                    slots.consistent = false;
+                }
+            }
+            return slots;
+        }
+
+        /**
+         * Set or clear a slot's booked bit; false when the bit was already in that state
+         */
+        boolean mark(LocalDate date, LocalTime time, boolean book) {
+            if (date.isBefore(from) || date.isAfter(to)) {
+                return true;
+            }
+            SlotGrid grid = weekly.get(dayOf(date));
+            int index = grid != null ? grid.indexOf(time) : -1;
+            if (index < 0) {
+                // Off-grid bookings never block a slot
+                return true;
+            }
+
+            long[] words = booked.get(date);
+            long[] next = words != null ? words.clone() : new long[(grid.slotCount() + 63) >>> 6];
+            long bit = 1L << index;
+            boolean wasBooked = (next[index >>> 6] & bit) != 0;
+            if (book) {
+                next[index >>> 6] |= bit;
+            } else {
+                next[index >>> 6] &= ~bit;
+            }
+            booked.put(date, next);
+            return wasBooked != book;
+        }
+
+        List<LocalTime> available(LocalDate date, LocalDate today, LocalTime now) {
+            SlotGrid grid = weekly.get(dayOf(date));
+            if (grid == null) {
+                return new ArrayList<>(); // Doctor not available on this day
+            }
+
+            long[] words = booked.get(date);
+            boolean isToday = date.equals(today);
+            List<LocalTime> free = new ArrayList<>(grid.slotCount());
+            for (int word = 0; word << 6 < grid.slotCount(); word++) {
+                long open = words != null ? ~words[word] : -1L;
+                while (open != 0) {
+                    int index = (word << 6) + Long.numberOfTrailingZeros(open);
+                    if (index >= grid.slotCount()) {
+                        break;
+                    }
+                    LocalTime time = grid.timeAt(index);
+                    if (!isToday || time.isAfter(now)) {
+                        free.add(time);
+                    }
+                    open &= open - 1;
+                }
+            }
+            return free;
+        }
+
+        private static DayOfWeek dayOf(LocalDate date) {
+            return DayOfWeek.valueOf(date.getDayOfWeek().name());
+        }
+    }
+}
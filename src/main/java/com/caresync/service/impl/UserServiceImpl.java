@@ -2,12 +2,19 @@ package com.caresync.service.impl;
 
 import com.caresync.dto.PagedResponse;
 import com.caresync.dto.UserDTO;
+import com.caresync.entity.Doctor;
+import com.caresync.entity.Patient;
 import com.caresync.entity.Role;
 import com.caresync.entity.User;
+import com.caresync.event.DoctorDeletedEvent;
+import com.caresync.event.PatientChangedEvent;
 import com.caresync.exception.ResourceNotFoundException;
 import com.caresync.repository.UserRepository;
+import com.caresync.security.PrincipalCache;
 import com.caresync.service.UserService;
+import com.caresync.service.impl.ReferenceDataCache.DirectoryEntry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +30,10 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final ReferenceDataCache referenceDataCache;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public PagedResponse<UserDTO> getAllUsers(Pageable pageable) {
@@ -100,20 +111,30 @@ public class UserServiceImpl implements UserService {
         }
 
         user.setEmail(userDTO.getEmail());
+        boolean credentialsChanged = false;
         
         if (userDTO.getPassword() != null && !userDTO.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+            credentialsChanged = true;
         }
         
-        if (userDTO.getRole() != null) {
+        if (userDTO.getRole() != null && userDTO.getRole() != user.getRole()) {
             user.setRole(userDTO.getRole());
+            credentialsChanged = true;
         }
         
-        if (userDTO.getIsActive() != null) {
+        if (userDTO.getIsActive() != null && !userDTO.getIsActive().equals(user.getIsActive())) {
             user.setIsActive(userDTO.getIsActive());
+            credentialsChanged = true;
+        }
+
+        // Invalidate tokens issued with the old password, role or status
+        if (credentialsChanged) {
+            user.incrementTokenVersion();
         }
 
         User savedUser = userRepository.save(user);
+        principalCache.evict(id);
         return convertToDTO(savedUser);
     }
 
@@ -122,7 +143,24 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        Patient patient = user.getPatient();
+        Doctor doctor = user.getDoctor();
+        DirectoryEntry doctorEntry = doctor != null ? DirectoryEntry.of(doctor) : null;
+
         userRepository.delete(user);
+        principalCache.evict(id);
+
+        // The patient or doctor row and its appointments cascade away with the user
+        if (patient != null) {
+            eventPublisher.publishEvent(new PatientChangedEvent(
+                    patient.getId(), PatientChangedEvent.Change.DELETED, patient.getGender(), null));
+        }
+        if (doctor != null) {
+            referenceDataCache.evictDoctor(doctorEntry);
+            referenceDataCache.evictSchedules(doctor.getId());
+            slotAvailabilityIndex.invalidate(doctor.getId());
+            eventPublisher.publishEvent(new DoctorDeletedEvent(doctor.getId()));
+        }
     }
 
     @Override
@@ -131,7 +169,9 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         user.setRole(role);
+        user.incrementTokenVersion();
         User savedUser = userRepository.save(user);
+        principalCache.evict(id);
         return convertToDTO(savedUser);
     }
 